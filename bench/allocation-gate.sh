@@ -0,0 +1,3 @@
+#!/usr/bin/env bash
+
+cd "$(dirname "$0")" && java -cp target/benchmarks.jar org.easymock.benchmark.AllocationGate "$@"
@@ -1,3 +1,3 @@
 #!/usr/bin/env bash
 
-java -jar target/benchmarks.jar ".*"
+java -jar target/benchmarks.jar -prof gc ".*"
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Fails when the allocation per operation of the key benchmarks regresses. Each benchmark is run with the
+ * {@link GCProfiler} and its {@code gc.alloc.rate.norm} is compared to the baseline committed in
+ * {@code src/main/resources/allocation-baseline.properties}.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar org.easymock.benchmark.AllocationGate [threshold] [--update]}
+ * <ul>
+ *     <li>{@code threshold}: accepted increase in percent, 10 by default</li>
+ *     <li>{@code --update}: write the measured allocations as the new baseline instead of checking them</li>
+ * </ul>
+ * <p>
+ * Allocation depends on the JVM. The committed baseline is for Temurin 17.0.9+9 on Linux x64, with no extra JVM
+ * options. Refresh all of it at once, on the same tree, with {@code mvn package} then
+ * {@code ./allocation-gate.sh --update} from the bench directory.
+ */
+public final class AllocationGate {
+
+    private static final String BASELINE = "allocation-baseline.properties";
+
+    /** The measure isn't exact, a difference of a few bytes per operation is not a regression */
+    private static final double NOISE = 16;
+
+    private static final double DEFAULT_THRESHOLD = 10;
+
+    private static final List<Check> CHECKS = new ArrayList<>();
+
+    static {
+        CHECKS.add(new Check("creation", EasyMockBenchmark.class, "list"));
+        CHECKS.add(new Check("record", RecordBenchmark.class, "andReturn", "expectations", "10"));
+        CHECKS.add(new Check("replay.expectation", ReplayBenchmark.class, "lastRecorded", "mocked", "interface",
+                "expectations", "10", "recording", "expectation", "type", "DEFAULT", "arguments", "1"));
+        CHECKS.add(new Check("replay.stub", ReplayBenchmark.class, "lastRecorded", "mocked", "interface",
+                "expectations", "10", "recording", "stub", "type", "NICE", "arguments", "1"));
+        CHECKS.add(new Check("verify", VerifyBenchmark.class, "verifySatisfied", "expectations", "10",
+                "argument", "small"));
+        CHECKS.add(new Check("injection", InjectionBenchmark.class, "injectMocks", "mocks", "5", "depth", "1",
+                "injection", "name"));
+    }
+
+    private static final class Check {
+
+        private final String name;
+
+        private final String benchmark;
+
+        private final String[] params;
+
+        Check(String name, Class<?> benchmark, String method, String... params) {
+            this.name = name;
+            this.benchmark = benchmark.getName() + "." + method + "$";
+            this.params = params;
+        }
+    }
+
+    private AllocationGate() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        boolean update = false;
+        double threshold = DEFAULT_THRESHOLD;
+        for (String arg : args) {
+            if ("--update".equals(arg)) {
+                update = true;
+            } else {
+                threshold = Double.parseDouble(arg);
+            }
+        }
+
+        Properties baseline = loadBaseline();
+        List<String> measures = new ArrayList<>(CHECKS.size());
+        List<String> regressions = new ArrayList<>();
+
+        for (Check check : CHECKS) {
+            double allocated = allocatedBytesPerOperation(check);
+            measures.add(check.name + "=" + Math.round(allocated));
+
+            String expected = baseline.getProperty(check.name);
+            if (expected == null) {
+                regressions.add(check.name + ": no baseline, measured " + Math.round(allocated) + " B/op");
+                continue;
+            }
+            double limit = Double.parseDouble(expected) * (1 + threshold / 100) + NOISE;
+            if (allocated > limit) {
+                regressions.add(check.name + ": " + Math.round(allocated) + " B/op, baseline is " + expected
+                        + " B/op");
+            }
+        }
+
+        if (update) {
+            writeBaseline(measures);
+            return;
+        }
+
+        System.out.println("Allocation per operation:");
+        measures.forEach(m -> System.out.println("  " + m));
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Allocation regressed by more than " + threshold + "%:");
+            regressions.forEach(r -> System.err.println("  " + r));
+            System.exit(1);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static double allocatedBytesPerOperation(Check check) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(check.benchmark)
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5);
+        for (int i = 0; i < check.params.length; i += 2) {
+            options.param(check.params[i], check.params[i + 1]);
+        }
+
+        RunResult result = new Runner(options.build()).run().iterator().next();
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith("gc.alloc.rate.norm")) {
+                return entry.getValue().getScore();
+            }
+        }
+        throw new IllegalStateException("No allocation measured for " + check.name);
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = AllocationGate.class.getClassLoader().getResourceAsStream(BASELINE)) {
+            if (in != null) {
+                baseline.load(in);
+            }
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(List<String> measures) throws IOException {
+        Path source = baselineSource();
+        List<String> lines = new ArrayList<>(Files.readAllLines(source, StandardCharsets.ISO_8859_1));
+        lines.removeIf(line -> !line.startsWith("#"));
+        lines.addAll(measures);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(source, StandardCharsets.ISO_8859_1))) {
+            lines.forEach(out::println);
+        }
+        System.out.println("Baseline written to " + source);
+    }
+
+    /**
+     * The baseline in the sources of the bench module, whatever the working directory. The module is found from
+     * where this class was loaded, {@code target/benchmarks.jar} or {@code target/classes}.
+     *
+     * @return the path of the baseline to update
+     */
+    private static Path baselineSource() throws IOException {
+        Path location;
+        try {
+            location = Paths.get(AllocationGate.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Can't locate the bench module", e);
+        }
+        Path source = location.toAbsolutePath().getParent().getParent()
+                .resolve(Paths.get("src", "main", "resources", BASELINE));
+        if (!Files.isRegularFile(source)) {
+            throw new IOException("No baseline to update at " + source + ", run from the bench module build");
+        }
+        return source;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the first mocks created by a JVM. {@link EasyMockBenchmark} measures the steady state, when the proxy classes
+ * are already generated and EasyMock, ByteBuddy and Objenesis are loaded and compiled. Here, each iteration loads
+ * them in a new class loader and creates the first mock(s), as a short-lived test JVM does.
+ * <p>
+ * Only the first iteration of a fork is truly cold. The following ones still pay for class loading and proxy
+ * generation but the JDK code involved has been warmed up.
+ */
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class ColdStartBenchmark {
+
+    /** Classes needed by EasyMock to mock. Missing ones are ignored */
+    private static final String[] LIBRARIES = { "org.easymock.EasyMock", "net.bytebuddy.ByteBuddy",
+            "org.objenesis.Objenesis", "org.objectweb.asm.ClassVisitor" };
+
+    /** Interfaces and classes alternated */
+    private static final Class<?>[] TYPES = { List.class, ArrayList.class, Map.class, HashMap.class, Set.class,
+            TreeSet.class, Collection.class, LinkedList.class, Iterator.class, TreeMap.class, Comparator.class,
+            LinkedHashSet.class, Callable.class, ConcurrentHashMap.class, Executor.class,
+            CopyOnWriteArrayList.class, Function.class, Random.class, Supplier.class, ArrayDeque.class };
+
+    @State(Scope.Thread)
+    public static class DistinctTypes {
+
+        @Param({ "1", "5", "20" })
+        private int count;
+    }
+
+    private URLClassLoader classLoader;
+
+    private Method createMock;
+
+    @Setup(Level.Iteration)
+    public void setup() throws Exception {
+        Set<URL> urls = new LinkedHashSet<>();
+        for (String library : LIBRARIES) {
+            try {
+                Class<?> c = Class.forName(library, false, ColdStartBenchmark.class.getClassLoader());
+                urls.add(c.getProtectionDomain().getCodeSource().getLocation());
+            } catch (ClassNotFoundException e) {
+                // not a dependency of this version
+            }
+        }
+        // Parent is the extension or platform class loader, so nothing is shared with the benchmark class loader
+        classLoader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent());
+        createMock = Class.forName("org.easymock.EasyMock", false, classLoader).getMethod("createMock", Class.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        createMock = null;
+        classLoader.close();
+        classLoader = null;
+    }
+
+    @Benchmark
+    public Object interfaceMock() throws Exception {
+        return createMock.invoke(null, List.class);
+    }
+
+    @Benchmark
+    public Object abstractClassMock() throws Exception {
+        return createMock.invoke(null, AbstractList.class);
+    }
+
+    @Benchmark
+    public Object classMock() throws Exception {
+        return createMock.invoke(null, ArrayList.class);
+    }
+
+    @Benchmark
+    public Object[] distinctTypes(DistinctTypes types) throws Exception {
+        Object[] mocks = new Object[types.count];
+        for (int i = 0; i < types.count; i++) {
+            mocks[i] = createMock.invoke(null, TYPES[i]);
+        }
+        return mocks;
+    }
+}
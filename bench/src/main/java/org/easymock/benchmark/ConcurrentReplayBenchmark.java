@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.ConcurrencyMode;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of a single mock called concurrently from 1 to 64 threads, for each {@link ConcurrencyMode}. A
+ * synchronized mock serializes all calls, a striped one the calls to the same method, a lock-free one only counts
+ * them atomically and a mock that isn't thread safe doesn't synchronize at all (but the results are then unreliable,
+ * which doesn't matter here).
+ * <p>
+ * The {@code mixed} group calls two different methods of the same mock from different threads. That's where striping
+ * helps.
+ */
+@Fork(2)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConcurrentReplayBenchmark {
+
+    @Param({ "SYNCHRONIZED", "STRIPED", "LOCK_FREE", "NOT_THREAD_SAFE" })
+    private ConcurrencyMode concurrency;
+
+    @Param({ "stub", "counted" })
+    private String recording;
+
+    private Service mock;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        IMocksControl control = EasyMock.createControl();
+        control.makeThreadSafe(concurrency);
+        mock = control.createMock(Service.class);
+        if ("stub".equals(recording)) {
+            EasyMock.expect(mock.oneArgument(1)).andStubReturn(1);
+            EasyMock.expect(mock.twoArguments(1, "name")).andStubReturn(2);
+        } else {
+            // Large enough to never run out during an iteration
+            EasyMock.expect(mock.oneArgument(1)).andReturn(1).times(Integer.MAX_VALUE - 1);
+            EasyMock.expect(mock.twoArguments(1, "name")).andReturn(2).times(Integer.MAX_VALUE - 1);
+        }
+        control.replay();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int threads1() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public int threads2() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int threads4() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int threads8() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int threads16() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int threads32() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int threads64() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int mixedOneArgument() {
+        return mock.oneArgument(1);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int mixedTwoArguments() {
+        return mock.twoArguments(1, "name");
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.easymock.TestSubject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+/**
+ * Cost of {@link EasyMockSupport#injectMocks(Object)} on a new test instance, as done before each test by the runner,
+ * the rule, the extension and the listener. It includes the creation of the mocks.
+ * <p>
+ * The test classes are generated since they need up to hundreds of {@link Mock} fields. The test has one
+ * {@link TestSubject} with a field for each mock, spread over a hierarchy of {@code depth} classes. Mocks are
+ * injected by type, each mock having its own interface, or by field name, all mocks being a {@link Service}.
+ */
+@Fork(2)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InjectionBenchmark {
+
+    private static final String PACKAGE = InjectionBenchmark.class.getPackage().getName() + ".generated.";
+
+    @Param({ "5", "50", "200" })
+    private int mocks;
+
+    @Param({ "1", "10" })
+    private int depth;
+
+    @Param({ "type", "name" })
+    private String injection;
+
+    private Constructor<?> testClass;
+
+    @Setup
+    public void setup() throws Exception {
+        ClassLoader classLoader = InjectionBenchmark.class.getClassLoader();
+        boolean byName = "name".equals(injection);
+
+        Class<?>[] types = new Class<?>[mocks];
+        for (int i = 0; i < mocks; i++) {
+            if (byName) {
+                types[i] = Service.class;
+            } else {
+                types[i] = load(new ByteBuddy().makeInterface().name(PACKAGE + "Collaborator" + i), classLoader);
+                classLoader = types[i].getClassLoader();
+            }
+        }
+
+        Class<?> testSubject = Object.class;
+        for (int level = 0; level < depth; level++) {
+            DynamicType.Builder<?> builder = new ByteBuddy().subclass(testSubject).name(PACKAGE + "TestSubject" + level);
+            for (int i = level; i < mocks; i += depth) {
+                builder = builder.defineField(fieldName(i), types[i], Visibility.PRIVATE);
+            }
+            testSubject = load(builder, classLoader);
+            classLoader = testSubject.getClassLoader();
+        }
+
+        DynamicType.Builder<?> builder = new ByteBuddy().subclass(Object.class).name(PACKAGE + "Test")
+                .defineField("testSubject", testSubject, Visibility.PRIVATE)
+                .annotateField(AnnotationDescription.Builder.ofType(TestSubject.class).build());
+        for (int i = 0; i < mocks; i++) {
+            AnnotationDescription.Builder mock = AnnotationDescription.Builder.ofType(Mock.class);
+            if (byName) {
+                mock = mock.define("fieldName", fieldName(i));
+            }
+            builder = builder.defineField("mock" + i, types[i], Visibility.PRIVATE).annotateField(mock.build());
+        }
+        testClass = load(builder, classLoader).getConstructor();
+    }
+
+    private static String fieldName(int index) {
+        return "collaborator" + index;
+    }
+
+    private static Class<?> load(DynamicType.Builder<?> builder, ClassLoader classLoader) {
+        return builder.make().load(classLoader, ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+    }
+
+    @Benchmark
+    public Object injectMocks() throws Exception {
+        Object test = testClass.newInstance();
+        EasyMockSupport.injectMocks(test);
+        return test;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.Capture;
+import org.easymock.IArgumentMatcher;
+import org.easymock.LogicalOperator;
+import org.easymock.internal.Invocation;
+import org.easymock.internal.LastControl;
+import org.easymock.internal.matchers.And;
+import org.easymock.internal.matchers.ArrayEquals;
+import org.easymock.internal.matchers.Captures;
+import org.easymock.internal.matchers.Compare;
+import org.easymock.internal.matchers.Contains;
+import org.easymock.internal.matchers.Equals;
+import org.easymock.internal.matchers.EqualsWithDelta;
+import org.easymock.internal.matchers.Find;
+import org.easymock.internal.matchers.GreaterThan;
+import org.easymock.internal.matchers.InstanceOf;
+import org.easymock.internal.matchers.Matches;
+import org.easymock.internal.matchers.Not;
+import org.easymock.internal.matchers.NotNull;
+import org.easymock.internal.matchers.Or;
+import org.easymock.internal.matchers.StartsWith;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link IArgumentMatcher#matches(Object)} for the matchers used when matching an actual call against an
+ * expectation. Each matcher is given an argument it matches, in a realistic shape: boxed values are distinct instances,
+ * arrays are equal but not the same and strings are a few hundred characters.
+ */
+@Fork(2)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MatcherBenchmark {
+
+    private static final int MEGABYTE = 1024 * 1024;
+
+    private final Integer boxed = 100_000;
+
+    private final String text = String.join(" ", Collections.nCopies(20, "The quick brown fox jumps over the lazy dog."))
+            + " Done";
+
+    private byte[] bytes;
+
+    private Object[] objects;
+
+    private List<Map<String, Object>> composite;
+
+    private IArgumentMatcher equalsBoxed;
+
+    private IArgumentMatcher equalsComposite;
+
+    private IArgumentMatcher arrayEqualsBytes;
+
+    private IArgumentMatcher arrayEqualsObjects;
+
+    private IArgumentMatcher matches;
+
+    private IArgumentMatcher find;
+
+    private IArgumentMatcher contains;
+
+    private IArgumentMatcher startsWith;
+
+    private IArgumentMatcher greaterThan;
+
+    private IArgumentMatcher compare;
+
+    private IArgumentMatcher equalsWithDelta;
+
+    private IArgumentMatcher instanceOf;
+
+    private IArgumentMatcher and;
+
+    private IArgumentMatcher or;
+
+    private IArgumentMatcher not;
+
+    private IArgumentMatcher nested;
+
+    private IArgumentMatcher captures;
+
+    private Invocation invocation;
+
+    @Setup
+    public void setup() throws Exception {
+        bytes = new byte[MEGABYTE];
+        Arrays.fill(bytes, (byte) 42);
+        objects = new Object[1000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = i % 2 == 0 ? Integer.valueOf(i * 1000) : "value" + i;
+        }
+        composite = composite();
+
+        equalsBoxed = new Equals(Integer.valueOf(100_000));
+        equalsComposite = new Equals(composite());
+        arrayEqualsBytes = new ArrayEquals(bytes.clone());
+        arrayEqualsObjects = new ArrayEquals(objects.clone());
+        matches = new Matches(".*lazy dog\\. Done");
+        find = new Find("l[a-z]+y dog\\. Done");
+        contains = new Contains("Done");
+        startsWith = new StartsWith("The quick");
+        greaterThan = new GreaterThan<>(1);
+        compare = new Compare<>(Integer.valueOf(100_000), Comparator.<Integer> naturalOrder(), LogicalOperator.EQUAL);
+        equalsWithDelta = new EqualsWithDelta(100_000.0, 0.5);
+        instanceOf = new InstanceOf(Number.class);
+        and = new And(Arrays.asList(new InstanceOf(Integer.class), new Equals(Integer.valueOf(100_000))));
+        or = new Or(Arrays.asList(new Equals(Integer.valueOf(0)), new Equals(Integer.valueOf(100_000))));
+        not = new Not(new Equals(Integer.valueOf(0)));
+        nested = new And(Arrays.asList(new Or(Arrays.asList(new Contains("cat"), new StartsWith("The"))),
+                new Not(new Find("mouse")), NotNull.NOT_NULL));
+        captures = new Captures<>(Capture.newInstance());
+
+        // Captures is always evaluated during a call to a mock
+        invocation = new Invocation(new ServiceImpl(), Service.class.getMethod("oneArgument", int.class),
+                new Object[] { 1 });
+        LastControl.pushCurrentInvocation(invocation);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LastControl.popCurrentInvocation();
+    }
+
+    private static List<Map<String, Object>> composite() {
+        List<Map<String, Object>> list = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> map = new HashMap<>();
+            for (int j = 0; j < 10; j++) {
+                map.put("key" + j, j % 2 == 0 ? Long.valueOf(i * j) : "value" + i + j);
+            }
+            list.add(map);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public boolean equalsBoxed() {
+        return equalsBoxed.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean equalsComposite() {
+        return equalsComposite.matches(composite);
+    }
+
+    @Benchmark
+    public boolean arrayEqualsBytes() {
+        return arrayEqualsBytes.matches(bytes);
+    }
+
+    @Benchmark
+    public boolean arrayEqualsObjects() {
+        return arrayEqualsObjects.matches(objects);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return matches.matches(text);
+    }
+
+    @Benchmark
+    public boolean find() {
+        return find.matches(text);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return contains.matches(text);
+    }
+
+    @Benchmark
+    public boolean startsWith() {
+        return startsWith.matches(text);
+    }
+
+    @Benchmark
+    public boolean greaterThan() {
+        return greaterThan.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return compare.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean equalsWithDelta() {
+        return equalsWithDelta.matches(100_000.25);
+    }
+
+    @Benchmark
+    public boolean instanceOf() {
+        return instanceOf.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean and() {
+        return and.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean or() {
+        return or.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean not() {
+        return not.matches(boxed);
+    }
+
+    @Benchmark
+    public boolean nested() {
+        return nested.matches(text);
+    }
+
+    @Benchmark
+    public boolean captures() {
+        boolean result = captures.matches(boxed);
+        invocation.clearCaptures();
+        return result;
+    }
+}
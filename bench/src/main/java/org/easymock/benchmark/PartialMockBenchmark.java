@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.ConstructorArgs;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of partial mocks. A call to a method that isn't mocked still goes through the mock interceptor before reaching
+ * the real method, so it is compared with a call on a real instance. Creating partial mocks, with and without calling
+ * a constructor, is measured as well.
+ */
+@Fork(2)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PartialMockBenchmark {
+
+    private final Service real = new ServiceImpl(7);
+
+    private Service partial;
+
+    private Method mockedMethod;
+
+    private ConstructorArgs constructorArgs;
+
+    @Setup
+    public void setup() throws Exception {
+        mockedMethod = ServiceImpl.class.getMethod("oneArgument", int.class);
+        constructorArgs = new ConstructorArgs(ServiceImpl.class.getConstructor(int.class), 7);
+
+        partial = EasyMock.partialMockBuilder(ServiceImpl.class)
+                .addMockedMethod(mockedMethod)
+                .withConstructor(7)
+                .createMock();
+        EasyMock.expect(partial.oneArgument(1)).andStubReturn(8);
+        EasyMock.replay(partial);
+    }
+
+    @Benchmark
+    public int realCall() {
+        return real.twoArguments(1, "name");
+    }
+
+    @Benchmark
+    public int notMockedCall() {
+        return partial.twoArguments(1, "name");
+    }
+
+    @Benchmark
+    public int mockedCall() {
+        return partial.oneArgument(1);
+    }
+
+    @Benchmark
+    public Service createWithoutConstructor() {
+        return EasyMock.partialMockBuilder(ServiceImpl.class)
+                .addMockedMethod(mockedMethod)
+                .createMock();
+    }
+
+    @Benchmark
+    public Service createWithConstructor() {
+        return EasyMock.partialMockBuilder(ServiceImpl.class)
+                .addMockedMethod(mockedMethod)
+                .withConstructor(7)
+                .createMock();
+    }
+
+    @Benchmark
+    public Service createWithConstructorArgs() {
+        IMocksControl control = EasyMock.createControl();
+        return control.createMock(null, ServiceImpl.class, constructorArgs, mockedMethod);
+    }
+}
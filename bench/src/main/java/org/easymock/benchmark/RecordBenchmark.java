@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.EasyMock;
+import org.easymock.IArgumentMatcher;
+import org.easymock.IExpectationSetters;
+import org.easymock.IMocksControl;
+import org.easymock.internal.LastControl;
+import org.easymock.internal.matchers.Equals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of recording expectations. Each benchmark records one more expectation on a control already holding
+ * {@code expectations} of them, which goes through {@code RecordState.invoke}, {@code RecordState.andReturn} or
+ * {@code times} and finally {@code UnorderedBehavior.addExpected}. The latter looks for an equal expectation among the
+ * existing ones, in its index when recorded without matchers, by scanning them otherwise.
+ * <p>
+ * The recorded expectation is the same as the last one already recorded, so no expectation is added but each recording
+ * appends a result to it. To keep that growth bounded, recordings are measured in batches of {@value #BATCH}, on a
+ * control recorded again before each batch. The score is still per recording.
+ * <p>
+ * Allocation is reported when running with {@code -prof gc}.
+ */
+@Fork(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RecordBenchmark {
+
+    /** Recordings measured on the same control */
+    private static final int BATCH = 1000;
+
+    @Param({ "10", "1000", "100000" })
+    private int expectations;
+
+    private final IArgumentMatcher matcher = new Equals(1);
+
+    private Service mock;
+
+    private int lastKey;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        IMocksControl control = EasyMock.createControl();
+        mock = control.createMock(Service.class);
+        for (int key = 0; key < expectations; key++) {
+            EasyMock.expect(mock.oneArgument(key)).andReturn(key);
+        }
+        lastKey = expectations - 1;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = BATCH)
+    @Measurement(iterations = 20, batchSize = BATCH)
+    @OperationsPerInvocation(BATCH)
+    public IExpectationSetters<Integer> andReturn() {
+        return EasyMock.expect(mock.oneArgument(lastKey)).andReturn(lastKey);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = BATCH)
+    @Measurement(iterations = 20, batchSize = BATCH)
+    @OperationsPerInvocation(BATCH)
+    public IExpectationSetters<Integer> andReturnTimes() {
+        return EasyMock.expect(mock.oneArgument(lastKey)).andReturn(lastKey).times(2);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = BATCH)
+    @Measurement(iterations = 20, batchSize = BATCH)
+    @OperationsPerInvocation(BATCH)
+    public IExpectationSetters<Integer> andReturnWithMatcher() {
+        return EasyMock.expect(mock.oneArgument(EasyMock.eq(lastKey))).andReturn(lastKey);
+    }
+
+    @Benchmark
+    public List<IArgumentMatcher> reportAndPullMatchers() {
+        LastControl.reportMatcher(matcher);
+        LastControl.reportMatcher(matcher);
+        return LastControl.pullMatchers();
+    }
+
+    /**
+     * Records all the expectations on a new control. The time is for the whole recording, not per expectation.
+     *
+     * @return the control holding the expectations
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IMocksControl recordAll() {
+        IMocksControl control = EasyMock.createControl();
+        Service service = control.createMock(Service.class);
+        for (int key = 0; key < expectations; key++) {
+            EasyMock.expect(service.oneArgument(key)).andReturn(key);
+        }
+        control.replay();
+        return control;
+    }
+}
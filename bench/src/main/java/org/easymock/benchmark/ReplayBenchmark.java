@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.easymock.MockType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a call to a mock in replay state. It goes through {@code ReplayState.invoke},
+ * {@code MocksBehavior.addActual} and {@code UnorderedBehavior.addActual}, so it is mostly the cost of matching the
+ * call against the recorded expectations.
+ * <p>
+ * Expectations are recorded with a different key for each one, so {@link #firstRecorded()} matches the first
+ * expectation scanned and {@link #lastRecorded()} the last one.
+ */
+@Fork(2)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ReplayBenchmark {
+
+    @Param({ "interface", "class" })
+    private String mocked;
+
+    @Param({ "1", "10", "100", "1000" })
+    private int expectations;
+
+    @Param({ "stub", "expectation" })
+    private String recording;
+
+    @Param({ "NICE", "DEFAULT", "STRICT" })
+    private MockType type;
+
+    @Param({ "1", "2", "4" })
+    private int arguments;
+
+    private Service mock;
+
+    private int lastKey;
+
+    @Setup
+    public void setup() {
+        IMocksControl control = EasyMock.createControl(type);
+        mock = "interface".equals(mocked) ? control.createMock(Service.class) : control.createMock(ServiceImpl.class);
+
+        for (int key = 0; key < expectations; key++) {
+            if ("stub".equals(recording)) {
+                EasyMock.expect(Service.call(mock, arguments, key)).andStubReturn(key);
+            } else {
+                EasyMock.expect(Service.call(mock, arguments, key)).andReturn(key).anyTimes();
+            }
+        }
+        lastKey = expectations - 1;
+
+        control.replay();
+    }
+
+    @Benchmark
+    public int firstRecorded() {
+        return Service.call(mock, arguments, 0);
+    }
+
+    @Benchmark
+    public int lastRecorded() {
+        return Service.call(mock, arguments, lastKey);
+    }
+}
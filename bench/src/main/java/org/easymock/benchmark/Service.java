@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+/**
+ * Interface mocked by the benchmarks. Each method takes a different number of arguments, the first one being the key
+ * distinguishing recorded expectations.
+ */
+public interface Service {
+
+    int oneArgument(int key);
+
+    int twoArguments(int key, String name);
+
+    int fourArguments(int key, String name, long id, Object payload);
+
+    /**
+     * Call the method of {@code service} taking {@code argumentCount} arguments.
+     *
+     * @param service the service to call
+     * @param argumentCount number of arguments of the called method
+     * @param key the key passed as first argument
+     * @return the result of the call
+     */
+    static int call(Service service, int argumentCount, int key) {
+        switch (argumentCount) {
+        case 1:
+            return service.oneArgument(key);
+        case 2:
+            return service.twoArguments(key, "name");
+        case 4:
+            return service.fourArguments(key, "name", 42L, Boolean.TRUE);
+        default:
+            throw new IllegalArgumentException("Unsupported argument count: " + argumentCount);
+        }
+    }
+}
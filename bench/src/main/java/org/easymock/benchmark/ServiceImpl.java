@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.io.Serializable;
+
+/**
+ * Concrete implementation of {@link Service} used when benchmarking class mocking.
+ */
+public class ServiceImpl implements Service, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int offset;
+
+    public ServiceImpl() {
+        this(0);
+    }
+
+    public ServiceImpl(int offset) {
+        this.offset = offset;
+    }
+
+    @Override
+    public int oneArgument(int key) {
+        return key + offset;
+    }
+
+    @Override
+    public int twoArguments(int key, String name) {
+        return key + offset + name.length();
+    }
+
+    @Override
+    public int fourArguments(int key, String name, long id, Object payload) {
+        return key + offset + name.length() + (int) id + payload.hashCode();
+    }
+}
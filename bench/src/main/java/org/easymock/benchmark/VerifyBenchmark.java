@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of verifying a control, when it succeeds and when it fails, and cost of an unexpected call. Failures build
+ * a message describing every expectation with {@code ErrorMessage} and {@code ArgumentToString}, so the size of the
+ * arguments matters.
+ */
+@Fork(2)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 4, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class VerifyBenchmark {
+
+    private static final int LARGE_SIZE = 10_000;
+
+    /** Unexpected calls measured on the same control */
+    private static final int BATCH = 1000;
+
+    @Param({ "10", "1000" })
+    private int expectations;
+
+    @Param({ "small", "array", "string" })
+    private String argument;
+
+    private IMocksControl satisfied;
+
+    private IMocksControl unsatisfied;
+
+    private IMocksControl withUnexpectedCalls;
+
+    private Service unexpected;
+
+    private String name;
+
+    private Object payload;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        name = "name";
+        payload = Boolean.TRUE;
+        if ("array".equals(argument)) {
+            int[] array = new int[LARGE_SIZE];
+            Arrays.fill(array, 42);
+            payload = array;
+        } else if ("string".equals(argument)) {
+            char[] chars = new char[LARGE_SIZE];
+            Arrays.fill(chars, 'a');
+            name = new String(chars);
+        }
+
+        satisfied = EasyMock.createControl();
+        Service service = record(satisfied);
+        satisfied.replay();
+        for (int key = 0; key < expectations; key++) {
+            service.fourArguments(key, name, key, payload);
+        }
+
+        unsatisfied = EasyMock.createControl();
+        record(unsatisfied);
+        unsatisfied.replay();
+
+        IMocksControl control = EasyMock.createControl();
+        unexpected = record(control);
+        control.replay();
+
+        withUnexpectedCalls = EasyMock.createControl();
+        service = withUnexpectedCalls.createMock(Service.class);
+        withUnexpectedCalls.replay();
+        for (int key = 0; key < expectations; key++) {
+            try {
+                service.fourArguments(key, name, key, payload);
+            } catch (AssertionError e) {
+                // expected, the call is remembered for verify
+            }
+        }
+    }
+
+    private Service record(IMocksControl control) {
+        Service service = control.createMock(Service.class);
+        for (int key = 0; key < expectations; key++) {
+            EasyMock.expect(service.fourArguments(key, name, key, payload)).andReturn(key);
+        }
+        return service;
+    }
+
+    @Benchmark
+    public IMocksControl verifySatisfied() {
+        satisfied.verify();
+        return satisfied;
+    }
+
+    @Benchmark
+    public AssertionError verifyUnsatisfied() {
+        try {
+            unsatisfied.verify();
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("verify should have failed");
+    }
+
+    @Benchmark
+    public AssertionError verifyUnexpectedCalls() {
+        try {
+            withUnexpectedCalls.verifyUnexpectedCalls();
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("verify should have failed");
+    }
+
+    /**
+     * An unexpected call fails with a message listing all the expectations not yet satisfied. Note that the
+     * unexpected call is remembered by the control. To keep that growth bounded, calls are measured in batches of
+     * {@value #BATCH}, on controls created again before each batch. The score is still per call.
+     *
+     * @return the failure
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20, batchSize = BATCH)
+    @Measurement(iterations = 20, batchSize = BATCH)
+    @OperationsPerInvocation(BATCH)
+    public AssertionError unexpectedCall() {
+        try {
+            unexpected.fourArguments(-1, name, -1, payload);
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("call should have failed");
+    }
+}
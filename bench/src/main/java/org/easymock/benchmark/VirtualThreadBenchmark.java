@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.easymock.ConcurrencyMode;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for a million virtual threads to call the same mock once each. The {@code sleep} answer parks the virtual
+ * thread during the call, which would pin its carrier if it happened while holding a monitor. Pinned threads are
+ * reported on the standard output by {@code jdk.tracePinnedThreads}.
+ * <p>
+ * A {@code SYNCHRONIZED} control runs the answers one at a time, so a million sleeping answers would take about 17
+ * minutes. That combination only makes {@value #SERIALIZED_SLEEPING_CALLS} calls, its score is not comparable to the
+ * others.
+ * <p>
+ * Needs Java 21 or later. Virtual threads are created by reflection since EasyMock is compiled for Java 8.
+ */
+@Fork(value = 2, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int CALLS = 1_000_000;
+
+    private static final int SERIALIZED_SLEEPING_CALLS = 1_000;
+
+    @Param({ "SYNCHRONIZED", "STRIPED", "LOCK_FREE" })
+    private ConcurrencyMode concurrency;
+
+    @Param({ "value", "sleep" })
+    private String answer;
+
+    private Service mock;
+
+    private int calls;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        boolean serialized = concurrency == ConcurrencyMode.SYNCHRONIZED && "sleep".equals(answer);
+        calls = serialized ? SERIALIZED_SLEEPING_CALLS : CALLS;
+        IMocksControl control = EasyMock.createControl();
+        control.makeThreadSafe(concurrency);
+        mock = control.createMock(Service.class);
+        if ("value".equals(answer)) {
+            EasyMock.expect(mock.oneArgument(1)).andStubReturn(1);
+        } else {
+            EasyMock.expect(mock.oneArgument(1)).andStubAnswer(() -> {
+                Thread.sleep(1);
+                return 1;
+            });
+        }
+        control.replay();
+    }
+
+    @Benchmark
+    public long millionCalls() throws InterruptedException {
+        LongAdder sum = new LongAdder();
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < calls; i++) {
+                executor.execute(() -> sum.add(mock.oneArgument(1)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            // Don't let the remaining calls run during the next iteration
+            executor.shutdownNow();
+            throw new IllegalStateException("Calls still running after a minute");
+        }
+        if (sum.sum() != calls) {
+            throw new IllegalStateException("Only " + sum.sum() + " of the " + calls + " calls succeeded");
+        }
+        return sum.sum();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2001-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock;
+
+/**
+ * How the mocks of a control behave when called from multiple threads during replay.
+ *
+ * @since 5.7
+ */
+public enum ConcurrencyMode {
+    /** Calls are not synchronized at all. Same as {@code makeThreadSafe(false)} */
+    NOT_THREAD_SAFE,
+    /**
+     * The default. Calls to all the mocks of a control are serialized, answers included. Same as
+     * {@code makeThreadSafe(true)}
+     */
+    SYNCHRONIZED,
+    /**
+     * Calls are matched one at the time only when they are on the same method of the same mock. They are dispatched
+     * on a fixed set of locks, so calls to other methods are rarely blocked. When the order of calls is checked, all
+     * calls are matched one at the time. In both cases, answers run outside the lock so they can be concurrent. Use
+     * {@link IExpectationSetters#andAnswer(IAnswer, int)} to limit them
+     */
+    STRIPED,
+    /**
+     * Calls are matched and counted without locking and answers run concurrently. Expectations can't be consumed more
+     * than expected. When the order of calls is checked, finding the expectation answering a call is still
+     * serialized, but the answer isn't
+     */
+    LOCK_FREE
+}
@@ -47,6 +47,15 @@ public class EasyMock {
      */
     public static final String NOT_THREAD_SAFE_BY_DEFAULT = "easymock.notThreadSafeByDefault";
 
+    /**
+     * The {@link ConcurrencyMode} of the mocks by default, for instance {@code STRIPED}. It takes precedence over
+     * {@link #NOT_THREAD_SAFE_BY_DEFAULT}. A given mock still can change it by calling
+     * {@link #makeThreadSafe(Object, ConcurrencyMode)}.
+     *
+     * @since 5.7
+     */
+    public static final String CONCURRENCY_MODE_BY_DEFAULT = "easymock.concurrencyModeByDefault";
+
     /**
      * Since EasyMock 3.0, EasyMock can perform class mocking directly without
      * using the class extension. If you want to disable any class mocking, turn
@@ -2182,6 +2191,24 @@ public class EasyMock {
         return (T) getCurrentArguments()[index];
     }
 
+    /**
+     * Wraps an answer so it answers at most {@code maxConcurrent} calls at the same time. The other calls wait for
+     * their turn. Handy to model a bounded resource, like a connection pool, when the mock is called from multiple
+     * threads in {@link ConcurrencyMode#STRIPED} or {@link ConcurrencyMode#LOCK_FREE} mode.
+     *
+     * @param <T>
+     *            type returned by the answer
+     * @param answer
+     *            the answer to limit
+     * @param maxConcurrent
+     *            the maximum number of calls answered at the same time. At least 1
+     * @return the limited answer
+     * @since 5.7
+     */
+    public static <T> IAnswer<T> limitConcurrency(IAnswer<? extends T> answer, int maxConcurrent) {
+        return new ConcurrencyLimitedAnswer<>(answer, maxConcurrent);
+    }
+
     /**
      * By default, a mock is thread safe (unless
      * {@link #NOT_THREAD_SAFE_BY_DEFAULT} is set). This method can change this
@@ -2197,6 +2224,20 @@ public class EasyMock {
         getControl(mock).makeThreadSafe(threadSafe);
     }
 
+    /**
+     * Selects how the mock, and all the mocks from the same control, behave when called from multiple threads. A
+     * finer grain alternative to {@link #makeThreadSafe(Object, boolean)}. See {@link ConcurrencyMode}.
+     *
+     * @param mock
+     *            the mock
+     * @param mode
+     *            the concurrency mode of the mock
+     * @since 5.7
+     */
+    public static void makeThreadSafe(Object mock, ConcurrencyMode mode) {
+        getControl(mock).makeThreadSafe(mode);
+    }
+
     /**
      * Tell that the mock should be used in only one thread. An exception will
      * be thrown if that's not the case. This can be useful when mocking an
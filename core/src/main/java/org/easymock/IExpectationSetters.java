@@ -55,6 +55,23 @@ public interface IExpectationSetters<T> {
      */
     IExpectationSetters<T> andAnswer(IAnswer<? extends T> answer);
 
+    /**
+     * Same as {@link #andAnswer(IAnswer)}, but the answer will answer at most {@code maxConcurrent} calls at the same
+     * time. The other calls wait for their turn. Handy to model a bounded resource, like a connection pool, when the
+     * mock is called from multiple threads in {@link ConcurrencyMode#STRIPED} or {@link ConcurrencyMode#LOCK_FREE}
+     * mode. In {@link ConcurrencyMode#SYNCHRONIZED} mode, calls are already answered one at the time.
+     *
+     * @param answer
+     *            the object used to answer the invocation.
+     * @param maxConcurrent
+     *            the maximum number of calls answered at the same time. At least 1
+     * @return this object to allow method call chaining.
+     * @since 5.7
+     */
+    default IExpectationSetters<T> andAnswer(IAnswer<? extends T> answer, int maxConcurrent) {
+        return andAnswer(EasyMock.limitConcurrency(answer, maxConcurrent));
+    }
+
     /**
      * Sets an object implementing the same interface as the mock. The expected
      * method call will be delegated to it with the actual arguments. The answer
@@ -101,6 +118,20 @@ public interface IExpectationSetters<T> {
      */
     void andStubAnswer(IAnswer<? extends T> answer);
 
+    /**
+     * Same as {@link #andStubAnswer(IAnswer)}, but the answer will answer at most {@code maxConcurrent} calls at the
+     * same time. The other calls wait for their turn.
+     *
+     * @param answer
+     *            the object used to answer the invocation.
+     * @param maxConcurrent
+     *            the maximum number of calls answered at the same time. At least 1
+     * @since 5.7
+     */
+    default void andStubAnswer(IAnswer<? extends T> answer, int maxConcurrent) {
+        andStubAnswer(EasyMock.limitConcurrency(answer, maxConcurrent));
+    }
+
     /**
      * Sets a stub object implementing the same interface as the mock. The
      * expected method call will be delegated to it with the actual arguments.
@@ -16,6 +16,7 @@
 package org.easymock;
 
 import java.lang.reflect.Method;
+import java.util.Objects;
 
 /**
  * Controls all the mock objects created by it. For details, see the EasyMock
@@ -216,6 +217,30 @@ public interface IMocksControl {
      */
     void makeThreadSafe(boolean threadSafe);
 
+    /**
+     * Selects how the mocks behave when called from multiple threads. See {@link ConcurrencyMode}.
+     * <p>
+     * By default, only {@link ConcurrencyMode#NOT_THREAD_SAFE} and {@link ConcurrencyMode#SYNCHRONIZED} are
+     * supported, by delegating to {@link #makeThreadSafe(boolean)}.
+     *
+     * @param mode
+     *            the concurrency mode of the mocks
+     * @throws UnsupportedOperationException if the mode isn't supported by this control
+     * @since 5.7
+     */
+    default void makeThreadSafe(ConcurrencyMode mode) {
+        switch (Objects.requireNonNull(mode, "concurrency mode must not be null")) {
+        case NOT_THREAD_SAFE:
+            makeThreadSafe(false);
+            break;
+        case SYNCHRONIZED:
+            makeThreadSafe(true);
+            break;
+        default:
+            throw new UnsupportedOperationException(mode + " isn't supported by " + getClass().getName());
+        }
+    }
+
     /**
      * Check that the mock is called from only one thread
      *
@@ -76,9 +76,7 @@ public final class AndroidClassProxyFactory implements IProxyFactory {
         }
 
         public Object invoke(Object obj, Method method, Object[] args) throws Throwable {
-            if (method.isBridge()) {
-                method = BridgeMethodResolver.findBridgedMethod(method);
-            }
+            method = MethodMetadata.resolveBridge(method);
 
             // Never intercept EasyMock's own calls to fillInStackTrace
             boolean internalFillInStackTraceCall = obj instanceof Throwable
@@ -92,9 +92,7 @@ public class ClassProxyFactory implements IProxyFactory {
             // the bridged method. The problem is that it doesn't happen. It looks like a cglib bug. For
             // package scoped bridges (see GenericTest), the interceptor is not called for the bridged
             // method. Not normal from my point of view.
-            if (method.isBridge()) {
-                method = BridgeMethodResolver.findBridgedMethod(method);
-            }
+            method = MethodMetadata.resolveBridge(method);
 
             // mockingData can be null when a method is called by the constructor
             // it means it's a partial mock instantiated with an explicit constructor
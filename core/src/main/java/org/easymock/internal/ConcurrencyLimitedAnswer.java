@@ -0,0 +1,61 @@
+/*
+ * Copyright 2001-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.internal;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+
+import org.easymock.IAnswer;
+
+/**
+ * Answer delegating to another one, but never answering more than a given number of calls at the same time. The
+ * other calls wait for their turn.
+ *
+ * @param <T> type of the answer
+ */
+public class ConcurrencyLimitedAnswer<T> implements IAnswer<T>, Serializable {
+
+    private static final long serialVersionUID = 4393815385217916563L;
+
+    private final IAnswer<? extends T> answer;
+
+    private final Semaphore permits;
+
+    public ConcurrencyLimitedAnswer(IAnswer<? extends T> answer, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1 but was " + maxConcurrent);
+        }
+        this.answer = Objects.requireNonNull(answer, "answer object must not be null");
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public T answer() throws Throwable {
+        // An interruption would surface from the mocked method as an undeclared checked exception
+        permits.acquireUninterruptibly();
+        try {
+            return answer.answer();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(answer);
+    }
+}
@@ -24,13 +24,29 @@ public class ErrorMessage {
 
     private final boolean matching;
 
-    private final String message;
+    /** What to render as the message, kept until the message is needed */
+    private final Object expected;
+
+    private String message;
 
     private final int actualCount;
 
     public ErrorMessage(boolean matching, String message, int actualCount) {
         this.matching = matching;
-        this.message = message;
+        this.expected = message;
+        this.actualCount = actualCount;
+    }
+
+    /**
+     * Error message on an expectation. The expectation is only rendered when the message is needed.
+     *
+     * @param matching if the actual invocation matched the expected invocation
+     * @param expected the expectation
+     * @param actualCount how many time the expectation was actually invoked
+     */
+    ErrorMessage(boolean matching, ExpectedInvocationAndResults expected, int actualCount) {
+        this.matching = matching;
+        this.expected = expected;
         this.actualCount = actualCount;
     }
 
@@ -50,7 +66,12 @@ public class ErrorMessage {
      * @return the actual invocation and its result
      */
     public String getMessage() {
-        return message;
+        String result = message;
+        if (result == null) {
+            result = expected.toString();
+            message = result;
+        }
+        return result;
     }
 
     /**
@@ -69,7 +90,7 @@ public class ErrorMessage {
      * @param matches how many times an actual invocation matched expected invocation
      */
     public void appendTo(StringBuilder buffer, int matches) {
-        buffer.append("\n    ").append(message).append(", actual: ");
+        buffer.append("\n    ").append(getMessage()).append(", actual: ");
         if (matching) {
             if (matches == 1) {
                 buffer.append(actualCount + 1);
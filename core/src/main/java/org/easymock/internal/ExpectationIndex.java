@@ -0,0 +1,341 @@
+/*
+ * Copyright 2001-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.internal;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Index of expectations used to find which one answers an actual call without looking at all of them.
+ * <p>
+ * Expectations are first bucketed by mock identity and method since an actual call can't match anything else. Then,
+ * in a bucket, an expectation recorded without matchers, on immutable values having a {@code hashCode} consistent with
+ * their {@code equals}, is also hashed by its arguments. The other expectations are scanned, but only
+ * the ones recorded before the first hashed candidate, so the expectation recorded first still wins.
+ * <p>
+ * The index is filled during recording and {@link #compile() compiled} when switching to replay. The buckets are then
+ * trimmed to arrays and moved to a flat table keyed by mock and method. Nothing can be added afterwards.
+ *
+ * @param <E> the type of the indexed entries
+ */
+public class ExpectationIndex<E> {
+
+    /** Returned when an argument can't be hashed. No hashed expectation can match it. */
+    private static final long NOT_HASHABLE = Long.MAX_VALUE;
+
+    private Map<Object, Map<Method, Bucket<E>>> buckets = new IdentityHashMap<>();
+
+    /** Open addressing table of the buckets, filled by {@link #compile()} */
+    private Object[] tableMocks;
+
+    private Method[] tableMethods;
+
+    private Bucket<E>[] tableBuckets;
+
+    private final Function<E, ExpectedInvocation> expectation;
+
+    private final Predicate<E> available;
+
+    /**
+     * @param expectation gives the expected invocation of an entry
+     * @param available tells if an entry can still answer a call. Unavailable entries are skipped
+     */
+    public ExpectationIndex(Function<E, ExpectedInvocation> expectation, Predicate<E> available) {
+        this.expectation = expectation;
+        this.available = available;
+    }
+
+    public void add(E entry) {
+        if (buckets == null) {
+            throw new IllegalStateException("no expectation can be added once compiled");
+        }
+        ExpectedInvocation expected = expectation.apply(entry);
+        buckets.computeIfAbsent(expected.getMock(), mock -> new HashMap<>())
+                .computeIfAbsent(expected.getMethod(), method -> new Bucket<>())
+                .add(entry, hash(expected));
+    }
+
+    /**
+     * Find the first recorded entry that is available and matches the actual invocation. The captures of the
+     * expectations that didn't match are cleared, the ones of the returned entry are left to validate.
+     *
+     * @param actual the actual invocation
+     * @return the matching entry or null if none
+     */
+    public E find(Invocation actual) {
+        Bucket<E> bucket = bucket(actual.getMock(), actual.getMethod());
+        if (bucket == null) {
+            return null;
+        }
+        int limit = bucket.size;
+        E found = null;
+        if (bucket.slots != null) {
+            long hash = hash(actual.getArguments());
+            if (hash != NOT_HASHABLE) {
+                for (int i = bucket.slots[slot(bucket, (int) hash)]; i >= 0; i = bucket.next[i]) {
+                    if (bucket.hashes[i] == (int) hash && accept(bucket.entry(i), actual)) {
+                        found = bucket.entry(i);
+                        limit = i;
+                        break;
+                    }
+                }
+            }
+        }
+        for (int j = 0; j < bucket.scannedCount && bucket.scanned[j] < limit; j++) {
+            E entry = bucket.entry(bucket.scanned[j]);
+            if (accept(entry, actual)) {
+                return entry;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find the entry having an expected invocation equal to the one passed. Used at recording to merge the results of
+     * identical expectations.
+     *
+     * @param expected the expected invocation
+     * @return the entry or null if none
+     */
+    public E findEqual(ExpectedInvocation expected) {
+        Bucket<E> bucket = bucket(expected.getMock(), expected.getMethod());
+        if (bucket == null) {
+            return null;
+        }
+        long hash = hash(expected);
+        if (hash == NOT_HASHABLE || bucket.slots == null) {
+            // A custom matcher might consider itself equal to anything, look everywhere
+            for (int i = 0; i < bucket.size; i++) {
+                E entry = bucket.entry(i);
+                if (expectation.apply(entry).equals(expected)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+        // Equal matchers have equal expected values, so the same hash
+        for (int i = bucket.slots[slot(bucket, (int) hash)]; i >= 0; i = bucket.next[i]) {
+            E entry = bucket.entry(i);
+            if (bucket.hashes[i] == (int) hash && expectation.apply(entry).equals(expected)) {
+                return entry;
+            }
+        }
+        for (int j = 0; j < bucket.scannedCount; j++) {
+            E entry = bucket.entry(bucket.scanned[j]);
+            if (expectation.apply(entry).equals(expected)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Freeze the index for replay. Lookups then go through a flat table instead of two levels of maps.
+     */
+    @SuppressWarnings("unchecked")
+    public void compile() {
+        if (buckets == null) {
+            return;
+        }
+        int count = 0;
+        for (Map<Method, Bucket<E>> methods : buckets.values()) {
+            count += methods.size();
+        }
+        int size = Integer.highestOneBit(Math.max(count, 1) * 2) * 2;
+        tableMocks = new Object[size];
+        tableMethods = new Method[size];
+        tableBuckets = (Bucket<E>[]) new Bucket<?>[size];
+        for (Map.Entry<Object, Map<Method, Bucket<E>>> mock : buckets.entrySet()) {
+            for (Map.Entry<Method, Bucket<E>> method : mock.getValue().entrySet()) {
+                method.getValue().compile();
+                int i = tableSlot(mock.getKey(), method.getKey()) & (size - 1);
+                while (tableBuckets[i] != null) {
+                    i = (i + 1) & (size - 1);
+                }
+                tableMocks[i] = mock.getKey();
+                tableMethods[i] = method.getKey();
+                tableBuckets[i] = method.getValue();
+            }
+        }
+        buckets = null;
+    }
+
+    private Bucket<E> bucket(Object mock, Method method) {
+        Bucket<E>[] table = tableBuckets;
+        if (table == null) {
+            Map<Method, Bucket<E>> methods = buckets.get(mock);
+            return methods == null ? null : methods.get(method);
+        }
+        int mask = table.length - 1;
+        for (int i = tableSlot(mock, method) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (tableMocks[i] == mock && (tableMethods[i] == method || tableMethods[i].equals(method))) {
+                return table[i];
+            }
+        }
+        return null;
+    }
+
+    private static int tableSlot(Object mock, Method method) {
+        int hash = 31 * System.identityHashCode(mock) + method.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean accept(E entry, Invocation actual) {
+        if (!available.test(entry)) {
+            return false;
+        }
+        if (expectation.apply(entry).matches(actual)) {
+            return true;
+        }
+        actual.clearCaptures();
+        return false;
+    }
+
+    private static int slot(Bucket<?> bucket, int hash) {
+        return (hash ^ (hash >>> 16)) & (bucket.slots.length - 1);
+    }
+
+    private static long hash(ExpectedInvocation expected) {
+        // Only arguments compared with equals can be hashed. Other matchers could match anything
+        Object[] arguments = expected.getMatchedArguments();
+        return arguments == null ? NOT_HASHABLE : hash(arguments);
+    }
+
+    private static long hash(Object[] arguments) {
+        int hash = 1;
+        for (Object argument : arguments) {
+            long argumentHash = hashArgument(argument);
+            if (argumentHash == NOT_HASHABLE) {
+                return NOT_HASHABLE;
+            }
+            hash = 31 * hash + (int) argumentHash;
+        }
+        return hash;
+    }
+
+    private static long hashArgument(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        // Arrays are compared by content at the call, but they might have been modified since the recording
+        return isValue(value) ? value.hashCode() : NOT_HASHABLE;
+    }
+
+    /**
+     * Types that are only equal to an instance of the same type and have a {@code hashCode} consistent with it. Any
+     * other type might have a broken or asymmetric {@code equals} so we can't trust its hash.
+     */
+    private static boolean isValue(Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Character || value instanceof Byte
+                || value instanceof Short || value instanceof Double || value instanceof Float
+                || value instanceof Enum || value instanceof Class;
+    }
+
+    /**
+     * Entries for one mock and method, in recording order. Hashed entries are chained by slot in recording order,
+     * the others are listed in {@code scanned}.
+     */
+    private static final class Bucket<E> {
+
+        private Object[] entries = new Object[4];
+
+        private int size;
+
+        private int[] hashes = new int[4];
+
+        private int[] next = new int[4];
+
+        private int[] slots;
+
+        private int[] tails;
+
+        private int hashedCount;
+
+        private int[] scanned = new int[4];
+
+        private int scannedCount;
+
+        @SuppressWarnings("unchecked")
+        E entry(int position) {
+            return (E) entries[position];
+        }
+
+        void add(E entry, long hash) {
+            int position = size++;
+            if (position == entries.length) {
+                entries = Arrays.copyOf(entries, position * 2);
+                hashes = Arrays.copyOf(hashes, position * 2);
+                next = Arrays.copyOf(next, position * 2);
+            }
+            entries[position] = entry;
+            next[position] = -1;
+            if (hash == NOT_HASHABLE) {
+                if (scannedCount == scanned.length) {
+                    scanned = Arrays.copyOf(scanned, scannedCount * 2);
+                }
+                scanned[scannedCount++] = position;
+                return;
+            }
+            hashes[position] = (int) hash;
+            if (slots == null || ++hashedCount > slots.length * 3 / 4) {
+                rehash(slots == null ? 16 : slots.length * 2);
+            } else {
+                link(position);
+            }
+        }
+
+        private void rehash(int slotCount) {
+            slots = new int[slotCount];
+            tails = new int[slotCount];
+            Arrays.fill(slots, -1);
+            hashedCount = 0;
+            int nextScanned = 0;
+            for (int i = 0; i < size; i++) {
+                if (nextScanned < scannedCount && scanned[nextScanned] == i) {
+                    nextScanned++;
+                    continue;
+                }
+                next[i] = -1;
+                link(i);
+                hashedCount++;
+            }
+        }
+
+        void compile() {
+            entries = Arrays.copyOf(entries, size);
+            hashes = Arrays.copyOf(hashes, size);
+            next = Arrays.copyOf(next, size);
+            scanned = Arrays.copyOf(scanned, scannedCount);
+            tails = null;
+        }
+
+        private void link(int position) {
+            int slot = slot(this, hashes[position]);
+            if (slots[slot] < 0) {
+                slots[slot] = position;
+            } else {
+                next[tails[slot]] = position;
+            }
+            tails[slot] = position;
+        }
+    }
+}
@@ -22,7 +22,7 @@ import org.easymock.internal.matchers.Equals;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -32,15 +32,19 @@ import java.util.List;
  */
 public final class ExpectedInvocation implements Serializable {
 
-    private static final long serialVersionUID = -5554816464613350531L;
+    private static final long serialVersionUID = -2038531469907498357L;
 
     private final Invocation invocation;
 
-    private final List<IArgumentMatcher> matchers;
+    private final IArgumentMatcher[] matchers;
+
+    /** If no matcher was given, so the recorded arguments are matched with {@code equals} */
+    private final boolean matchingRecordedArguments;
 
     public ExpectedInvocation(Invocation invocation, List<IArgumentMatcher> matchers) {
         this.invocation = invocation;
-        this.matchers = createMissingMatchers(invocation, matchers);
+        this.matchers = createMissingMatchers(invocation, matchers).toArray(new IArgumentMatcher[0]);
+        this.matchingRecordedArguments = matchers == null;
     }
 
     private List<IArgumentMatcher> createMissingMatchers(Invocation invocation,
@@ -78,9 +82,7 @@ public final class ExpectedInvocation implements Serializable {
         }
 
         ExpectedInvocation other = (ExpectedInvocation) o;
-        return this.invocation.equals(other.invocation)
-                && ((this.matchers == null && other.matchers == null) || (this.matchers != null && this.matchers
-                        .equals(other.matchers)));
+        return this.invocation.equals(other.invocation) && Arrays.equals(this.matchers, other.matchers);
     }
 
     @Override
@@ -101,11 +103,12 @@ public final class ExpectedInvocation implements Serializable {
     }
 
     private boolean matches(Object[] arguments) {
-        if (arguments.length != matchers.size()) {
+        IArgumentMatcher[] matchers = this.matchers;
+        if (arguments.length != matchers.length) {
             return false;
         }
         for (int i = 0; i < arguments.length; i++) {
-            if (!matchers.get(i).matches(arguments[i])) {
+            if (!matchers[i].matches(arguments[i])) {
                 return false;
             }
         }
@@ -117,16 +120,30 @@ public final class ExpectedInvocation implements Serializable {
         StringBuffer result = new StringBuffer();
         result.append(invocation.getMockAndMethodName());
         result.append("(");
-        for (Iterator<IArgumentMatcher> it = matchers.iterator(); it.hasNext();) {
-            it.next().appendTo(result);
-            if (it.hasNext()) {
+        for (int i = 0; i < matchers.length; i++) {
+            if (i > 0) {
                 result.append(", ");
             }
+            matchers[i].appendTo(result);
         }
         result.append(")");
         return result.toString();
     }
 
+    /**
+     * Returns the recorded arguments when they are matched with {@code equals}, arrays by content, because no matcher
+     * was given.
+     *
+     * @return the recorded arguments or {@code null} if matchers were given
+     */
+    Object[] getMatchedArguments() {
+        return matchingRecordedArguments ? invocation.getArguments() : null;
+    }
+
+    public Object getMock() {
+        return invocation.getMock();
+    }
+
     public Method getMethod() {
         return invocation.getMethod();
     }
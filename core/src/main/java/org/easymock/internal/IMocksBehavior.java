@@ -15,6 +15,8 @@
  */
 package org.easymock.internal;
 
+import org.easymock.ConcurrencyMode;
+
 /**
  * The behavior of a mock. I.e. ordered or not, thread safe or not, expectations, etc.
  *
@@ -29,15 +31,30 @@ public interface IMocksBehavior {
 
     void checkOrder(boolean value);
 
-    void makeThreadSafe(boolean isThreadSafe);
+    void makeThreadSafe(ConcurrencyMode mode);
 
     void shouldBeUsedInOneThread(boolean shouldBeUsedInOneThread);
 
+    /**
+     * Called at the end of recording to freeze what was recorded into the structures used during replay.
+     */
+    void compile();
+
     // replay
     Result addActual(Invocation invocation);
 
     boolean isThreadSafe();
 
+    ConcurrencyMode getConcurrencyMode();
+
+    /**
+     * Tells if {@link #addActual(Invocation)} can be called concurrently. Only possible once compiled, in
+     * {@link ConcurrencyMode#LOCK_FREE} or {@link ConcurrencyMode#STRIPED} mode, if the order of calls isn't checked.
+     *
+     * @return if calls can be added concurrently
+     */
+    boolean isConcurrent();
+
     void checkThreadSafety();
 
     // verify
@@ -15,6 +15,7 @@
  */
 package org.easymock.internal;
 
+import org.easymock.ConcurrencyMode;
 import org.easymock.IAnswer;
 
 /**
@@ -54,6 +55,8 @@ public interface IMocksControlState {
 
     void makeThreadSafe(boolean threadSafe);
 
+    void makeThreadSafe(ConcurrencyMode mode);
+
     void checkIsUsedInOneThread(boolean shouldBeUsedInOneThread);
 
     void replay();
@@ -19,10 +19,14 @@ import org.easymock.internal.matchers.Captures;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.lang.Character.*;
 
@@ -33,17 +37,34 @@ import static java.lang.Character.*;
  */
 public final class Invocation implements Serializable {
 
-    private static final long serialVersionUID = 1604995470419943411L;
+    private static final long serialVersionUID = 6455795741478671580L;
 
     private static final Object[] NO_ARGS = {};
 
+    /** Mock classes, weakly referenced, and if they declare their {@code toString} */
+    private static final Map<Class<?>, Boolean> TO_STRING_DEFINED = new WeakHashMap<>();
+
+    private static final ReentrantLock TO_STRING_DEFINED_LOCK = new ReentrantLock();
+
+    /** Size of the lock-free lookup table in front of {@link #TO_STRING_DEFINED}. Must be a power of 2 */
+    private static final int TO_STRING_FAST_SIZE = 64;
+
+    private static final ToStringDefined[] TO_STRING_FAST = new ToStringDefined[TO_STRING_FAST_SIZE];
+
     private final Object mock;
 
     private transient Method method;
 
+    private transient MethodMetadata metadata;
+
     private final Object[] arguments;
 
-    private final Collection<Captures<?>> currentCaptures = new ArrayList<>(0);
+    /**
+     * Captures waiting for the invocation to be matched, each followed by its potential value. They are kept here,
+     * and not in the capture, since the same capture can be matched by concurrent invocations. Only created when a
+     * capture is used
+     */
+    private transient List<Object> currentCaptures;
 
     public Invocation(Object mock, Method method, Object[] args) {
         this.mock = mock;
@@ -71,8 +92,9 @@ public final class Invocation implements Serializable {
         if (array instanceof Object[]) {
             return (Object[]) array;
         }
-        Object[] result = new Object[Array.getLength(array)];
-        for (int i = 0; i < Array.getLength(array); i++) {
+        int length = Array.getLength(array);
+        Object[] result = new Object[length];
+        for (int i = 0; i < length; i++) {
             result[i] = Array.get(array, i);
         }
         return result;
@@ -96,6 +118,19 @@ public final class Invocation implements Serializable {
         return method;
     }
 
+    /**
+     * Returns the metadata of the invoked method.
+     *
+     * @return the metadata of the invoked method.
+     */
+    public MethodMetadata getMethodMetadata() {
+        MethodMetadata metadata = this.metadata;
+        if (metadata == null) {
+            metadata = this.metadata = MethodMetadata.of(method);
+        }
+        return metadata;
+    }
+
     /**
      * Returns the arguments passed to the method invocation.
      *
@@ -131,11 +166,12 @@ public final class Invocation implements Serializable {
         if (this.arguments.length != arguments.length) {
             return false;
         }
+        MethodMetadata metadata = getMethodMetadata();
         for (int i = 0; i < this.arguments.length; i++) {
             Object myArgument = this.arguments[i];
             Object otherArgument = arguments[i];
 
-            if (isPrimitiveParameter(i)) {
+            if (metadata.isPrimitiveParameter(i)) {
                 if (!myArgument.equals(otherArgument)) {
                     return false;
                 }
@@ -148,14 +184,6 @@ public final class Invocation implements Serializable {
         return true;
     }
 
-    private boolean isPrimitiveParameter(int parameterPosition) {
-        Class<?>[] parameterTypes = method.getParameterTypes();
-        if (method.isVarArgs()) {
-            parameterPosition = Math.min(parameterPosition, parameterTypes.length - 1);
-        }
-        return parameterTypes[parameterPosition].isPrimitive();
-    }
-
     public String getMockAndMethodName() {
         String methodName = method.getName();
         // This can occur when using PowerMock. They do something that causes the mock
@@ -173,26 +201,74 @@ public final class Invocation implements Serializable {
     }
 
     public void addCapture(Captures<Object> capture, Object value) {
-        capture.setPotentialValue(value);
+        if (currentCaptures == null) {
+            currentCaptures = new ArrayList<>(2);
+        }
         currentCaptures.add(capture);
+        currentCaptures.add(value);
+    }
+
+    /**
+     * Returns the value a capture will capture if this invocation is matched.
+     *
+     * @param capture the capture
+     * @return the last potential value for this capture or null if none
+     */
+    public Object getPotentialValue(Captures<?> capture) {
+        if (currentCaptures == null) {
+            return null;
+        }
+        for (int i = currentCaptures.size() - 2; i >= 0; i -= 2) {
+            if (currentCaptures.get(i) == capture) {
+                return currentCaptures.get(i + 1);
+            }
+        }
+        return null;
     }
 
+    @SuppressWarnings("unchecked")
     public void validateCaptures() {
-        for (Captures<?> c : currentCaptures) {
-            c.validateCapture();
+        if (currentCaptures == null) {
+            return;
+        }
+        for (int i = 0; i < currentCaptures.size(); i += 2) {
+            ((Captures<Object>) currentCaptures.get(i)).validateCapture(currentCaptures.get(i + 1));
         }
     }
 
     public void clearCaptures() {
-        for (Captures<?> c : currentCaptures) {
-            c.setPotentialValue(null);
+        if (currentCaptures == null) {
+            return;
         }
         currentCaptures.clear();
     }
 
-    private boolean toStringIsDefined(Object o) {
+    private static boolean toStringIsDefined(Object o) {
+        Class<?> c = o.getClass();
+        int slot = System.identityHashCode(c) & (TO_STRING_FAST_SIZE - 1);
+        ToStringDefined fast = TO_STRING_FAST[slot];
+        if (fast != null && fast.mockClass.get() == c) {
+            return fast.defined;
+        }
+        Boolean defined;
+        TO_STRING_DEFINED_LOCK.lock();
+        try {
+            defined = TO_STRING_DEFINED.get(c);
+            if (defined == null) {
+                defined = declaresToString(c);
+                TO_STRING_DEFINED.put(c, defined);
+            }
+        } finally {
+            TO_STRING_DEFINED_LOCK.unlock();
+        }
+        // Only final fields, so safely published without a lock
+        TO_STRING_FAST[slot] = new ToStringDefined(c, defined);
+        return defined;
+    }
+
+    private static boolean declaresToString(Class<?> c) {
         try {
-            o.getClass().getDeclaredMethod("toString", (Class<?>[]) null).getModifiers();
+            c.getDeclaredMethod("toString", (Class<?>[]) null).getModifiers();
             return true;
         } catch (SecurityException | NoSuchMethodException ignored) {
             // ///CLOVER:OFF
@@ -201,6 +277,21 @@ public final class Invocation implements Serializable {
         }
     }
 
+    /**
+     * Entry of the lock-free table. The class is weakly referenced so it can still be unloaded.
+     */
+    private static final class ToStringDefined {
+
+        private final WeakReference<Class<?>> mockClass;
+
+        private final boolean defined;
+
+        ToStringDefined(Class<?> mockClass, boolean defined) {
+            this.mockClass = new WeakReference<>(mockClass);
+            this.defined = defined;
+        }
+    }
+
     private static boolean isDefaultName(String mockName) {
         return mockName.startsWith("EasyMock for");
     }
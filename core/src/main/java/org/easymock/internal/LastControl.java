@@ -35,7 +35,13 @@ public final class LastControl {
 
     private static final ThreadLocal<MocksControl> threadToControl = new ThreadLocal<>();
 
-    private static final ThreadLocal<List<Invocation>> threadToCurrentInvocation = new ThreadLocal<>();
+    /**
+     * The invocation being replayed. Holds the {@link Invocation} itself or, when an answer calls another mock, an
+     * {@code ArrayList} of nested invocations. It is set back to {@code null} once the call is over so no invocation is
+     * retained by the thread between calls. The empty entry is kept, so the next call doesn't allocate a new one, and
+     * goes away with the thread, which matters when calls are made from millions of short-lived virtual threads.
+     */
+    private static final ThreadLocal<Object> threadToCurrentInvocation = new ThreadLocal<>();
 
     private static final ThreadLocal<List<IArgumentMatcher>> threadToArgumentMatcherStack = new ThreadLocal<>();
 
@@ -111,25 +117,44 @@ public final class LastControl {
         stack.add(new Or(popLastArgumentMatchers(count)));
     }
 
+    @SuppressWarnings("unchecked")
     public static Invocation getCurrentInvocation() {
-        List<Invocation> stack = threadToCurrentInvocation.get();
-        if (stack == null || stack.isEmpty()) {
-            return null;
+        Object current = threadToCurrentInvocation.get();
+        if (current == null || current instanceof Invocation) {
+            return (Invocation) current;
         }
+        List<Invocation> stack = (List<Invocation>) current;
         return stack.get(stack.size()-1);
     }
 
+    @SuppressWarnings("unchecked")
     public static void pushCurrentInvocation(Invocation invocation) {
-        List<Invocation> stack = threadToCurrentInvocation.get();
-        if (stack == null) {
-            stack = new ArrayList<>(2); // we will rarely have more than 1 recursion. So almost never over 2
+        Object current = threadToCurrentInvocation.get();
+        if (current == null) {
+            // The usual case. No need for a stack
+            threadToCurrentInvocation.set(invocation);
+        } else if (current instanceof Invocation) {
+            List<Invocation> stack = new ArrayList<>(2); // we will rarely have more than 1 recursion
+            stack.add((Invocation) current);
+            stack.add(invocation);
             threadToCurrentInvocation.set(stack);
+        } else {
+            ((List<Invocation>) current).add(invocation);
         }
-        stack.add(invocation);
     }
 
+    @SuppressWarnings("unchecked")
     public static void popCurrentInvocation() {
-        List<Invocation> stack = threadToCurrentInvocation.get();
+        Object current = threadToCurrentInvocation.get();
+        if (current instanceof Invocation) {
+            // Setting null instead of removing keeps the thread local entry, so the next call doesn't allocate one
+            threadToCurrentInvocation.set(null);
+            return;
+        }
+        List<Invocation> stack = (List<Invocation>) current;
         stack.remove(stack.size()-1);
+        if (stack.size() == 1) {
+            threadToCurrentInvocation.set(stack.get(0));
+        }
     }
 }
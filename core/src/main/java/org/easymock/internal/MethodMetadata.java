@@ -0,0 +1,160 @@
+/*
+ * Copyright 2001-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.internal;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * What EasyMock needs to know about a mocked method, computed once and shared by all the mocks and invocations of
+ * this method.
+ * <p>
+ * Entries are weakly keyed by the {@code Method} so mocked classes can still be unloaded. For that to work, the
+ * metadata only references a {@code Class} through the bridged method, declared by the same class as the key: the
+ * parameter kinds are flags and the default return value is a boxed primitive or {@code null}.
+ * <p>
+ * Proxies hand us the same {@code Method} instance at each call, so a lookup first tries a small table indexed by
+ * identity that is read without locking. The weak map behind it is only used on a miss. The table only weakly
+ * references the metadata, so it doesn't keep a class loaded once the map dropped its entry.
+ */
+public final class MethodMetadata {
+
+    /** Size of the lock-free lookup table. Must be a power of 2 */
+    private static final int FAST_SIZE = 256;
+
+    @SuppressWarnings("unchecked")
+    private static final WeakReference<MethodMetadata>[] FAST =
+            (WeakReference<MethodMetadata>[]) new WeakReference<?>[FAST_SIZE];
+
+    private static final Map<Method, MethodMetadata> CACHE = new WeakHashMap<>();
+
+    /** Guards {@link #CACHE}. Not a monitor, so a virtual thread waiting for it doesn't pin its carrier */
+    private static final ReentrantLock CACHE_LOCK = new ReentrantLock();
+
+    private final WeakReference<Method> method;
+
+    private final boolean varArgs;
+
+    private final boolean[] primitiveParameters;
+
+    private final Object defaultReturnValue;
+
+    /** Returns the default value. Shared by all nice mocks so they don't create a result at each call */
+    private final Result defaultResult;
+
+    /** The method bridged by this one. {@code null} if not a bridge or not resolved yet */
+    private volatile Method bridgedMethod;
+
+    private MethodMetadata(Method method) {
+        this.method = new WeakReference<>(method);
+        this.varArgs = method.isVarArgs();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.primitiveParameters = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            primitiveParameters[i] = parameterTypes[i].isPrimitive();
+        }
+        this.defaultReturnValue = RecordState.emptyReturnValueFor(method.getReturnType());
+        this.defaultResult = Result.createReturnResult(defaultReturnValue);
+    }
+
+    /**
+     * Returns the metadata of a method, computing it on first use.
+     *
+     * @param method the method
+     * @return the metadata of this method
+     */
+    public static MethodMetadata of(Method method) {
+        int slot = System.identityHashCode(method) & (FAST_SIZE - 1);
+        WeakReference<MethodMetadata> reference = FAST[slot];
+        MethodMetadata metadata = reference == null ? null : reference.get();
+        if (metadata != null && metadata.method.get() == method) {
+            return metadata;
+        }
+        CACHE_LOCK.lock();
+        try {
+            metadata = CACHE.get(method);
+            if (metadata == null) {
+                metadata = new MethodMetadata(method);
+                CACHE.put(method, metadata);
+            }
+        } finally {
+            CACHE_LOCK.unlock();
+        }
+        // All fields are final, except the volatile bridge, so it is safely published without a lock
+        FAST[slot] = new WeakReference<>(metadata);
+        return metadata;
+    }
+
+    /**
+     * Returns the method bridged by a bridge method. The resolution is remembered as long as the bridge method is
+     * used.
+     *
+     * @param method the method to resolve
+     * @return the method bridged by {@code method} or {@code method} itself if it isn't a bridge
+     */
+    public static Method resolveBridge(Method method) {
+        if (!method.isBridge()) {
+            return method;
+        }
+        MethodMetadata metadata = of(method);
+        Method bridged = metadata.bridgedMethod;
+        if (bridged == null) {
+            bridged = BridgeMethodResolver.findBridgedMethod(method);
+            metadata.bridgedMethod = bridged;
+        }
+        return bridged;
+    }
+
+    public boolean isVarArgs() {
+        return varArgs;
+    }
+
+    /**
+     * Tells if a parameter is of a primitive type. For a varargs method, any position after the last parameter is
+     * a vararg and so has the kind of the last parameter.
+     *
+     * @param position position of the parameter
+     * @return if the parameter at this position is a primitive
+     */
+    public boolean isPrimitiveParameter(int position) {
+        if (varArgs) {
+            position = Math.min(position, primitiveParameters.length - 1);
+        }
+        return primitiveParameters[position];
+    }
+
+    /**
+     * Returns the value returned by default by this method: {@code null}, {@code false} or 0 depending on the return
+     * type.
+     *
+     * @return the default return value
+     */
+    public Object getDefaultReturnValue() {
+        return defaultReturnValue;
+    }
+
+    /**
+     * Returns the result of a nice mock when no behavior was recorded for this method.
+     *
+     * @return a result returning the default return value
+     */
+    public Result getDefaultResult() {
+        return defaultResult;
+    }
+}
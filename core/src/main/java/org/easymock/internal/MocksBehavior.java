@@ -15,12 +15,19 @@
  */
 package org.easymock.internal;
 
+import org.easymock.ConcurrencyMode;
 import org.easymock.EasyMock;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Default implementation of {@link IMocksBehavior}. It keeps the full behavior of mocks from the same {@link org.easymock.IMocksControl}.
@@ -29,19 +36,49 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class MocksBehavior implements IMocksBehavior, Serializable {
 
-    private static final long serialVersionUID = 6824996227285837998L;
+    private static final long serialVersionUID = -8355473912400599151L;
+
+    /** Creates {@link #unexpectedCalls} on the first unexpected call, which might be concurrent with others */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MocksBehavior, Queue> UNEXPECTED_CALLS =
+            AtomicReferenceFieldUpdater.newUpdater(MocksBehavior.class, Queue.class, "unexpectedCalls");
+
+    /**
+     * Makes sure only one call compiles the plan after deserialization. It is rare enough to share the lock between
+     * all controls instead of creating one per control
+     */
+    private static final ReentrantLock COMPILE_LOCK = new ReentrantLock();
 
     private final List<UnorderedBehavior> behaviorLists = new ArrayList<>();
 
     private final List<ExpectedInvocationAndResult> stubResults = new ArrayList<>();
 
-    private final List<Invocation> unexpectedCalls = new ArrayList<>();
+    /** The same stubs as {@code stubResults}, indexed. Rebuilt lazily after deserialization */
+    private transient ExpectationIndex<ExpectedInvocationAndResult> stubIndex;
+
+    /** {@code behaviorLists} frozen by {@link #compile()} for replay. Compiled again lazily after deserialization */
+    private transient volatile UnorderedBehavior[] plan;
+
+    /** If the calls of the plan can be added concurrently. See {@link #isConcurrent()} */
+    private transient volatile boolean concurrent;
+
+    /**
+     * Number of expectations not called enough yet, from {@code position} on. The behaviors before {@code position}
+     * were satisfied when it moved past them and can't be called anymore.
+     */
+    private transient int unsatisfied;
+
+    /**
+     * Unexpected calls, kept for the verify. Concurrent calls add to it without locking. Only created on the first
+     * unexpected call since most controls never get one
+     */
+    private volatile Queue<Invocation> unexpectedCalls;
 
     private final boolean nice;
 
     private volatile boolean checkOrder;
 
-    private volatile boolean isThreadSafe;
+    private volatile ConcurrencyMode concurrencyMode;
 
     private volatile boolean shouldBeUsedInOneThread;
 
@@ -51,15 +88,25 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
 
     public MocksBehavior(boolean nice) {
         this.nice = nice;
-        this.isThreadSafe = !Boolean.parseBoolean(EasyMockProperties.getInstance().getProperty(
-                EasyMock.NOT_THREAD_SAFE_BY_DEFAULT));
+        this.concurrencyMode = defaultConcurrencyMode();
         this.shouldBeUsedInOneThread = Boolean.parseBoolean(EasyMockProperties.getInstance().getProperty(
                 EasyMock.ENABLE_THREAD_SAFETY_CHECK_BY_DEFAULT));
     }
 
+    private static ConcurrencyMode defaultConcurrencyMode() {
+        String mode = EasyMockProperties.getInstance().getProperty(EasyMock.CONCURRENCY_MODE_BY_DEFAULT);
+        if (mode != null) {
+            return DefaultConcurrencyMode.of(mode);
+        }
+        return Boolean.parseBoolean(EasyMockProperties.getInstance().getProperty(EasyMock.NOT_THREAD_SAFE_BY_DEFAULT))
+                ? ConcurrencyMode.NOT_THREAD_SAFE : ConcurrencyMode.SYNCHRONIZED;
+    }
+
     @Override
     public final void addStub(ExpectedInvocation expected, Result result) {
-        stubResults.add(new ExpectedInvocationAndResult(expected, result));
+        ExpectedInvocationAndResult stub = new ExpectedInvocationAndResult(expected, result);
+        stubIndex().add(stub);
+        stubResults.add(stub);
     }
 
     @Override
@@ -69,12 +116,51 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
     }
 
     private Result getStubResult(Invocation actual) {
-        for (ExpectedInvocationAndResult each : stubResults) {
-            if (each.getExpectedInvocation().matches(actual)) {
-                return each.getResult();
+        ExpectedInvocationAndResult stub = stubIndex().find(actual);
+        return stub == null ? null : stub.getResult();
+    }
+
+    private ExpectationIndex<ExpectedInvocationAndResult> stubIndex() {
+        if (stubIndex == null) {
+            stubIndex = new ExpectationIndex<>(ExpectedInvocationAndResult::getExpectedInvocation, stub -> true);
+            for (ExpectedInvocationAndResult stub : stubResults) {
+                stubIndex.add(stub);
+            }
+        }
+        return stubIndex;
+    }
+
+    @Override
+    public void compile() {
+        UnorderedBehavior[] behaviors = behaviorLists.toArray(new UnorderedBehavior[0]);
+        unsatisfied = 0;
+        for (UnorderedBehavior behavior : behaviors) {
+            behavior.compile();
+            unsatisfied += behavior.getUnsatisfiedCount();
+        }
+        stubIndex().compile();
+        // Only a single unordered behavior has no cursor to move, so its calls can be counted concurrently
+        ConcurrencyMode mode = concurrencyMode;
+        concurrent = (mode == ConcurrencyMode.LOCK_FREE || mode == ConcurrencyMode.STRIPED)
+                && (behaviors.length == 0 || behaviors.length == 1 && !behaviors[0].isCheckOrder());
+        plan = behaviors;
+    }
+
+    private UnorderedBehavior[] plan() {
+        UnorderedBehavior[] plan = this.plan;
+        if (plan == null) {
+            // Only after deserialization. Calls might be concurrent, so make sure only one compiles
+            COMPILE_LOCK.lock();
+            try {
+                if (this.plan == null) {
+                    compile();
+                }
+                plan = this.plan;
+            } finally {
+                COMPILE_LOCK.unlock();
             }
         }
-        return null;
+        return plan;
     }
 
     private void addBehaviorListIfNecessary(ExpectedInvocation expected) {
@@ -89,97 +175,107 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
 
     @Override
     public final Result addActual(Invocation actual) {
+        UnorderedBehavior[] behaviorLists = plan();
+        if (concurrent) {
+            return addActualConcurrently(actual, behaviorLists);
+        }
         int initialPosition = position.get();
 
-        while (position.get() < behaviorLists.size()) {
-            int index = position.get();
-            Result result = behaviorLists.get(index).addActual(actual);
+        // Only the behavior at the cursor can answer, or the following ones if it is satisfied. For a strict control,
+        // each behavior is one step of the sequence
+        int cursor = initialPosition;
+        while (cursor < behaviorLists.length) {
+            UnorderedBehavior behavior = behaviorLists[cursor];
+            int unsatisfiedBefore = behavior.getUnsatisfiedCount();
+            Result result = behavior.addActual(actual);
             if (result != null) {
+                unsatisfied -= unsatisfiedBefore - behavior.getUnsatisfiedCount();
+                position.set(cursor);
                 return result;
             }
-            if (!behaviorLists.get(index).verify()) {
+            if (!behavior.verify()) {
                 break;
             }
-            position.incrementAndGet();
+            cursor++;
         }
-        Result stubOrNice = getStubResult(actual);
-        if (stubOrNice == null && nice) {
-            stubOrNice = Result.createReturnResult(RecordState.emptyReturnValueFor(actual.getMethod()
-                    .getReturnType()));
-        }
-
-        int endPosition = position.get();
-
         // Do not move the cursor in case of stub, nice or error
-        position.set(initialPosition);
-
+        Result stubOrNice = getStubOrNiceResult(actual);
         if (stubOrNice != null) {
-            actual.validateCaptures();
-            actual.clearCaptures();
             return stubOrNice;
         }
 
         // Case where the loop was exited at the end of the behaviorLists
-        if (endPosition == behaviorLists.size()) {
-            endPosition--;
-        }
-
-        // Loop all around the behaviors left to generate the message
-        StringBuilder errorMessage = new StringBuilder(70 * (endPosition - initialPosition + 1)); // rough approximation of the length
-        errorMessage.append("\n  Unexpected method call ").append(actual.toString());
-
-        List<ErrorMessage> messages = new ArrayList<>();
-
-        int matches = 0;
+        int endPosition = cursor == behaviorLists.length ? cursor - 1 : cursor;
+        throw unexpectedCall(actual, behaviorLists, initialPosition, endPosition);
+    }
 
-        // First find how many match we have
-        for (int i = initialPosition; i <= endPosition; i++) {
-            List<ErrorMessage> thisListMessages = behaviorLists.get(i).getMessages(actual);
-            messages.addAll(thisListMessages);
-            for (ErrorMessage m : thisListMessages) {
-                if (m.isMatching()) {
-                    matches++;
-                }
+    private Result addActualConcurrently(Invocation actual, UnorderedBehavior[] behaviorLists) {
+        if (behaviorLists.length == 1) {
+            Result result = behaviorLists[0].addActualConcurrently(actual);
+            if (result != null) {
+                return result;
             }
         }
+        Result stubOrNice = getStubOrNiceResult(actual);
+        if (stubOrNice != null) {
+            return stubOrNice;
+        }
+        throw unexpectedCall(actual, behaviorLists, 0, behaviorLists.length - 1);
+    }
 
-        if (matches > 1) {
-            errorMessage.append(". Possible matches are marked with (+1)");
+    private Result getStubOrNiceResult(Invocation actual) {
+        Result stubOrNice = getStubResult(actual);
+        if (stubOrNice == null && nice) {
+            stubOrNice = actual.getMethodMetadata().getDefaultResult();
+        }
+        if (stubOrNice != null) {
+            actual.validateCaptures();
+            actual.clearCaptures();
         }
+        return stubOrNice;
+    }
 
-        if (!messages.isEmpty()) {
-            errorMessage.append(":");
-            for (ErrorMessage m : messages) {
-                m.appendTo(errorMessage, matches);
-            }
+    private AssertionErrorWrapper unexpectedCall(Invocation actual, UnorderedBehavior[] behaviorLists,
+            int initialPosition, int endPosition) {
+        // Only collect the behaviors left, with their call counts and matches at this time. The call and the behaviors
+        // will only be rendered if someone looks at the message, and outside the lock
+        List<ErrorMessage> messages = new ArrayList<>();
+        for (int i = initialPosition; i <= endPosition; i++) {
+            messages.addAll(behaviorLists[i].getMessages(actual));
         }
 
         // Keep the unexpected invocation to have a look in the verify
-        unexpectedCalls.add(actual);
+        Queue<Invocation> calls = unexpectedCalls;
+        if (calls == null) {
+            UNEXPECTED_CALLS.compareAndSet(this, null, new ConcurrentLinkedQueue<Invocation>());
+            calls = unexpectedCalls;
+        }
+        calls.add(actual);
 
         // And finally throw the error
-        throw new AssertionErrorWrapper(new AssertionError(errorMessage));
+        return new AssertionErrorWrapper(new UnexpectedCallError(actual, messages));
     }
 
     @Override
     public void verifyRecording() {
-        boolean verified = true;
-
-        for (UnorderedBehavior behaviorList : behaviorLists.subList(position.get(), behaviorLists.size())) {
-            if (!behaviorList.verify()) {
-                verified = false;
-                break;
+        UnorderedBehavior[] behaviorLists = plan();
+        if (concurrent) {
+            // Concurrent calls don't keep track of the expectations they satisfy
+            unsatisfied = 0;
+            for (UnorderedBehavior behavior : behaviorLists) {
+                behavior.countUnsatisfied();
+                unsatisfied += behavior.getUnsatisfiedCount();
             }
         }
-        if (verified) {
+        if (unsatisfied == 0) {
             return;
         }
 
-        StringBuilder errorMessage = new StringBuilder(70 * (behaviorLists.size() - position.get() + 1));
+        StringBuilder errorMessage = new StringBuilder(70 * (behaviorLists.length - position.get() + 1));
 
         errorMessage.append("\n  Expectation failure on verify:");
-        for (UnorderedBehavior behaviorList : behaviorLists.subList(position.get(), behaviorLists.size())) {
-            for (ErrorMessage m : behaviorList.getMessages(null)) {
+        for (int i = position.get(); i < behaviorLists.length; i++) {
+            for (ErrorMessage m : behaviorLists[i].getMessages(null)) {
                 m.appendTo(errorMessage, 0);
             }
         }
@@ -189,7 +285,13 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
 
     @Override
     public void verifyUnexpectedCalls() {
-        if(unexpectedCalls.isEmpty()) {
+        Queue<Invocation> calls = this.unexpectedCalls;
+        if (calls == null) {
+            return;
+        }
+        // A snapshot, since calls might still be added concurrently
+        List<Invocation> unexpectedCalls = new ArrayList<>(calls);
+        if (unexpectedCalls.isEmpty()) {
             return;
         }
 
@@ -231,8 +333,8 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
     }
 
     @Override
-    public void makeThreadSafe(boolean isThreadSafe) {
-        this.isThreadSafe = isThreadSafe;
+    public void makeThreadSafe(ConcurrencyMode mode) {
+        this.concurrencyMode = mode;
     }
 
     @Override
@@ -242,7 +344,17 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
 
     @Override
     public boolean isThreadSafe() {
-        return this.isThreadSafe;
+        return this.concurrencyMode != ConcurrencyMode.NOT_THREAD_SAFE;
+    }
+
+    @Override
+    public ConcurrencyMode getConcurrencyMode() {
+        return concurrencyMode;
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return concurrent;
     }
 
     @Override
@@ -258,4 +370,41 @@ public class MocksBehavior implements IMocksBehavior, Serializable {
                             + " Current: " + Thread.currentThread()));
         }
     }
+
+    /**
+     * The {@link EasyMock#CONCURRENCY_MODE_BY_DEFAULT} property, parsed. It is only parsed again if the property
+     * changes.
+     */
+    private static final class DefaultConcurrencyMode {
+
+        private static volatile DefaultConcurrencyMode last;
+
+        private final String property;
+
+        private final ConcurrencyMode mode;
+
+        private DefaultConcurrencyMode(String property, ConcurrencyMode mode) {
+            this.property = property;
+            this.mode = mode;
+        }
+
+        static ConcurrencyMode of(String property) {
+            DefaultConcurrencyMode parsed = last;
+            if (parsed == null || !parsed.property.equals(property)) {
+                parsed = new DefaultConcurrencyMode(property, parse(property));
+                last = parsed;
+            }
+            return parsed.mode;
+        }
+
+        private static ConcurrencyMode parse(String property) {
+            try {
+                return ConcurrencyMode.valueOf(property.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid value '" + property + "' for "
+                        + EasyMock.CONCURRENCY_MODE_BY_DEFAULT + ". Allowed values are "
+                        + Arrays.toString(ConcurrencyMode.values()), e);
+            }
+        }
+    }
 }
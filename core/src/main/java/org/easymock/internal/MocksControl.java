@@ -15,6 +15,7 @@
  */
 package org.easymock.internal;
 
+import org.easymock.ConcurrencyMode;
 import org.easymock.ConstructorArgs;
 import org.easymock.EasyMock;
 import org.easymock.EasyMockSupport;
@@ -284,6 +285,15 @@ public class MocksControl implements IMocksControl, IExpectationSetters<Object>,
         }
     }
 
+    @Override
+    public void makeThreadSafe(ConcurrencyMode mode) {
+        try {
+            state.makeThreadSafe(mode);
+        } catch (RuntimeExceptionWrapper e) {
+            throw (RuntimeException) e.getRuntimeException().fillInStackTrace();
+        }
+    }
+
     @Override
     public void checkIsUsedInOneThread(boolean shouldBeUsedInOneThread) {
         try {
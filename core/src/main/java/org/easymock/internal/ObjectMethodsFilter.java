@@ -78,10 +78,7 @@ public final class ObjectMethodsFilter implements InvocationHandler, Serializabl
         Method m = toMock.getMethod(name, params);
         // It can occur that the method was bridged. Usually, this means the method was in package scope on a parent class
         // When that occurs, we need to resolve the bridge to always extract the real method
-        if(m.isBridge()) {
-            m = BridgeMethodResolver.findBridgedMethod(m);
-        }
-        return m;
+        return MethodMetadata.resolveBridge(m);
     }
 
     public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
@@ -15,6 +15,7 @@
  */
 package org.easymock.internal;
 
+import org.easymock.ConcurrencyMode;
 import org.easymock.IAnswer;
 import org.easymock.IArgumentMatcher;
 
@@ -52,7 +53,7 @@ public class RecordState implements IMocksControlState, Serializable {
         List<IArgumentMatcher> lastMatchers = LastControl.pullMatchers();
         lastInvocation = new ExpectedInvocation(invocation, lastMatchers);
         lastInvocationUsed = false;
-        return emptyReturnValueFor(invocation.getMethod().getReturnType());
+        return invocation.getMethodMetadata().getDefaultReturnValue();
     }
 
     @Override
@@ -61,6 +62,7 @@ public class RecordState implements IMocksControlState, Serializable {
         if (LastControl.pullMatchers() != null) {
             throw new IllegalStateException("matcher calls were used outside expectations");
         }
+        behavior.compile();
     }
 
     @Override
@@ -344,7 +346,15 @@ public class RecordState implements IMocksControlState, Serializable {
 
     @Override
     public void makeThreadSafe(boolean threadSafe) {
-        behavior.makeThreadSafe(threadSafe);
+        makeThreadSafe(threadSafe ? ConcurrencyMode.SYNCHRONIZED : ConcurrencyMode.NOT_THREAD_SAFE);
+    }
+
+    @Override
+    public void makeThreadSafe(ConcurrencyMode mode) {
+        if (mode == null) {
+            throw new RuntimeExceptionWrapper(new NullPointerException("concurrency mode must not be null"));
+        }
+        behavior.makeThreadSafe(mode);
     }
 
     @Override
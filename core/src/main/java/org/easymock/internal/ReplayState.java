@@ -15,6 +15,7 @@
  */
 package org.easymock.internal;
 
+import org.easymock.ConcurrencyMode;
 import org.easymock.IAnswer;
 
 import java.io.Serializable;
@@ -32,10 +33,25 @@ public class ReplayState implements IMocksControlState, Serializable {
 
     private final IMocksBehavior behavior;
 
+    /** Number of locks in {@link ConcurrencyMode#STRIPED} mode. Must be a power of 2 */
+    private static final int STRIPES = 32;
+
     private final ReentrantLock lock = new ReentrantLock();
 
+    /** Locks of the calls, by mock and method. Only in {@link ConcurrencyMode#STRIPED} mode */
+    private final ReentrantLock[] stripes;
+
     public ReplayState(IMocksBehavior behavior) {
         this.behavior = behavior;
+        this.stripes = behavior.getConcurrencyMode() == ConcurrencyMode.STRIPED ? newStripes() : null;
+    }
+
+    private static ReentrantLock[] newStripes() {
+        ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
     }
 
     @Override
@@ -43,33 +59,76 @@ public class ReplayState implements IMocksControlState, Serializable {
 
         behavior.checkThreadSafety();
 
-        if (behavior.isThreadSafe()) {
-            // If thread safe, synchronize the mock
-            lock.lock();
-            try {
-                return invokeInner(invocation);
-            } finally {
-                lock.unlock();
+        LastControl.pushCurrentInvocation(invocation);
+        try {
+            if (behavior.getConcurrencyMode() == ConcurrencyMode.SYNCHRONIZED) {
+                // Calls are fully serialized, answers included
+                lock.lock();
+                try {
+                    return answer(behavior.addActual(invocation));
+                } finally {
+                    lock.unlock();
+                }
             }
+            // Striped and lock-free modes run the answer outside the lock, so a slow answer doesn't block the other
+            // callers
+            return answer(addActual(invocation));
+        } catch (AssertionErrorWrapper e) {
+            // The lock is released by now
+            AssertionError error = e.getAssertionError();
+            if (error instanceof UnexpectedCallError) {
+                ((UnexpectedCallError) error).renderCall();
+            }
+            throw e;
+        } finally {
+            LastControl.popCurrentInvocation();
+        }
+    }
+
+    private Result addActual(Invocation invocation) {
+        ReentrantLock lock = lockFor(invocation);
+        if (lock == null) {
+            return behavior.addActual(invocation);
+        }
+        lock.lock();
+        try {
+            return behavior.addActual(invocation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the lock to hold while matching a call in striped or lock-free mode. It locks the whole control when the
+     * order matters, or only the method of the mock if striped.
+     *
+     * @param invocation the call to match
+     * @return the lock or {@code null} if the call doesn't need one
+     */
+    private ReentrantLock lockFor(Invocation invocation) {
+        ConcurrencyMode mode = behavior.getConcurrencyMode();
+        if (mode == ConcurrencyMode.NOT_THREAD_SAFE) {
+            return null;
+        }
+        if (behavior.isConcurrent()) {
+            return mode == ConcurrencyMode.STRIPED ? stripe(invocation) : null;
         }
+        return lock;
+    }
 
-        return invokeInner(invocation);
+    private ReentrantLock stripe(Invocation invocation) {
+        int hash = 31 * System.identityHashCode(invocation.getMock()) + invocation.getMethod().hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
     }
 
-    private Object invokeInner(Invocation invocation) throws Throwable {
-        LastControl.pushCurrentInvocation(invocation);
+    private static Object answer(Result result) throws Throwable {
         try {
-            Result result = behavior.addActual(invocation);
-            try {
-                return result.answer();
-            } catch (Throwable t) {
-                if (result.shouldFillInStackTrace()) {
-                    throw new ThrowableWrapper(t);
-                }
-                throw t;
+            return result.answer();
+        } catch (Throwable t) {
+            if (result.shouldFillInStackTrace()) {
+                throw new ThrowableWrapper(t);
             }
-        } finally {
-            LastControl.popCurrentInvocation();
+            throw t;
         }
     }
 
@@ -107,6 +166,11 @@ public class ReplayState implements IMocksControlState, Serializable {
         throwWrappedIllegalStateException();
     }
 
+    @Override
+    public void makeThreadSafe(ConcurrencyMode mode) {
+        throwWrappedIllegalStateException();
+    }
+
     @Override
     public void checkIsUsedInOneThread(boolean shouldBeUsedInOneThread) {
         throwWrappedIllegalStateException();
@@ -16,8 +16,9 @@
 package org.easymock.internal;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The results of a specific call on a mock. It's plural because a specific call can be called multiple times and so
@@ -27,82 +28,146 @@ import java.util.List;
  */
 public class Results implements Serializable {
 
-    private static final long serialVersionUID = -2722051869610289637L;
+    private static final long serialVersionUID = 2314258975456670889L;
 
-    private int callCount;
+    private static final AtomicIntegerFieldUpdater<Results> CALL_COUNT = AtomicIntegerFieldUpdater.newUpdater(
+            Results.class, "callCount");
 
-    private final List<Range> ranges = new ArrayList<>();
+    private volatile int callCount;
 
-    private final List<Result> results = new ArrayList<>();
+    private Range[] ranges = new Range[1];
+
+    private Result[] results = new Result[1];
+
+    /** Call count at which each range is exhausted, {@code Long.MAX_VALUE} for an open range */
+    private long[] ends = new long[1];
+
+    /**
+     * Calls answered concurrently by the last range when it is open. Such a range never runs out, so its calls don't
+     * need to be reserved with a CAS on {@code callCount}, only counted. Null if the last range isn't open
+     */
+    private LongAdder openCalls;
+
+    private int size;
+
+    /** Sum of the range minimums */
+    private int minimum;
+
+    /** Sum of the range maximums, {@code Integer.MAX_VALUE} if the last range is open */
+    private int maximum;
+
+    /** Index of the range answering the next call. Only moves forward */
+    private int current;
+
+    /** Call count at which the current range is exhausted */
+    private long currentEnd;
 
     public void add(Result result, Range range) {
-        if (!ranges.isEmpty()) {
-            Range lastRange = ranges.get(ranges.size() - 1);
+        if (size > 0) {
+            Range lastRange = ranges[size - 1];
             if (!lastRange.hasFixedCount()) {
                 throw new RuntimeExceptionWrapper(new IllegalStateException(
                         "last method called on mock already has a non-fixed count set."));
             }
+        } else {
+            currentEnd = range.getMaximum();
+        }
+        if (size == ranges.length) {
+            ranges = Arrays.copyOf(ranges, size * 2);
+            results = Arrays.copyOf(results, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        ends[size] = range.hasOpenCount() ? Long.MAX_VALUE : (size == 0 ? 0 : ends[size - 1]) + range.getMaximum();
+        ranges[size] = range;
+        results[size++] = result;
+        if (range.hasOpenCount()) {
+            openCalls = new LongAdder();
+        }
+
+        minimum += range.getMinimum();
+        if (range.hasOpenCount() || (long) maximum + range.getMaximum() >= Integer.MAX_VALUE) {
+            maximum = Integer.MAX_VALUE;
+        } else {
+            maximum += range.getMaximum();
         }
-        ranges.add(range);
-        results.add(result);
     }
 
     public boolean hasResults() {
-        int currentPosition = 0;
-        for (Range interval : ranges) {
-            if (interval.hasOpenCount()) {
-                return true;
-            }
-            currentPosition += interval.getMaximum();
-            if (currentPosition > callCount) {
-                return true;
-            }
+        return maximum == Integer.MAX_VALUE || callCount < maximum;
+    }
+
+    /**
+     * @return the number of calls, including the ones counted concurrently by an open range
+     */
+    private int totalCallCount() {
+        if (openCalls == null) {
+            return callCount;
         }
-        return false;
+        return (int) Math.min(Integer.MAX_VALUE, callCount + openCalls.sum());
     }
 
     public Result next() {
-        int currentPosition = 0;
-        for (int i = 0; i < ranges.size(); i++) {
-            Range interval = ranges.get(i);
-            if (interval.hasOpenCount()) {
-                callCount += 1;
-                return results.get(i);
+        if (!hasResults()) {
+            return null;
+        }
+        Range range = ranges[current];
+        while (!range.hasOpenCount() && callCount >= currentEnd) {
+            range = ranges[++current];
+            currentEnd += range.getMaximum();
+        }
+        callCount += 1;
+        return results[current];
+    }
+
+    /**
+     * Same as {@link #next()} but safe to call concurrently. The call is counted with a CAS, so results are never
+     * consumed more than expected.
+     *
+     * @return the result of the call or null if none is left
+     */
+    public Result nextConcurrently() {
+        int call;
+        do {
+            call = callCount;
+            if (openCalls != null && call >= openFrom()) {
+                // The open range is reached, callCount won't move anymore and the calls are only counted
+                openCalls.increment();
+                return results[size - 1];
             }
-            currentPosition += interval.getMaximum();
-            if (currentPosition > callCount) {
-                callCount += 1;
-                return results.get(i);
+            if (maximum != Integer.MAX_VALUE && call >= maximum) {
+                return null;
+            }
+        } while (!CALL_COUNT.compareAndSet(this, call, call + 1));
+
+        // Binary search of the first range ending after this call
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ends[middle] > call) {
+                high = middle;
+            } else {
+                low = middle + 1;
             }
         }
-        return null;
+        return results[low];
+    }
+
+    private long openFrom() {
+        return size == 1 ? 0 : ends[size - 2];
     }
 
     public boolean hasValidCallCount() {
-        return getMainInterval().contains(callCount);
+        int callCount = totalCallCount();
+        return minimum <= callCount && callCount <= maximum;
     }
 
     @Override
     public String toString() {
-        return getMainInterval().expectedCount();
-    }
-
-    private Range getMainInterval() {
-        int min = 0, max = 0;
-
-        for (Range interval : ranges) {
-            min += interval.getMinimum();
-            if (interval.hasOpenCount() || max == Integer.MAX_VALUE) {
-                max = Integer.MAX_VALUE;
-            } else {
-                max += interval.getMaximum();
-            }
-        }
-
-        return new Range(min, max);
+        return new Range(minimum, maximum).expectedCount();
     }
 
     public int getCallCount() {
-        return callCount;
+        return totalCallCount();
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2001-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.internal;
+
+import java.util.List;
+
+/**
+ * Error thrown on an unexpected call. The expectations that could have been expected instead are only rendered when
+ * the message is asked for. Tests checking a failure often catch the error without ever looking at it.
+ * <p>
+ * The call counts and matches of the expectations are the ones at the time of the call, but their matchers are rendered
+ * as they are when the message is read, so a capture, for instance, shows its value at that time. The actual call is
+ * rendered by {@link #renderCall()} once the call has released the lock of the control.
+ */
+public class UnexpectedCallError extends AssertionError {
+
+    private static final long serialVersionUID = 4217342938411580916L;
+
+    private final transient Invocation actual;
+
+    private final transient List<ErrorMessage> messages;
+
+    private volatile String call;
+
+    private volatile String message;
+
+    public UnexpectedCallError(Invocation actual, List<ErrorMessage> messages) {
+        this.actual = actual;
+        this.messages = messages;
+    }
+
+    /**
+     * Render the actual call, to describe its arguments as they were. An argument failing to render fails the call,
+     * as if the message was built when thrown.
+     */
+    void renderCall() {
+        call = actual.toString();
+    }
+
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = render();
+            message = result;
+        }
+        return result;
+    }
+
+    private String render() {
+        StringBuilder errorMessage = new StringBuilder(70 * (messages.size() + 1)); // rough approximation of the length
+        String call = this.call;
+        errorMessage.append("\n  Unexpected method call ").append(call == null ? actual.toString() : call);
+
+        int matches = 0;
+        for (ErrorMessage m : messages) {
+            if (m.isMatching()) {
+                matches++;
+            }
+        }
+
+        if (matches > 1) {
+            errorMessage.append(". Possible matches are marked with (+1)");
+        }
+
+        if (!messages.isEmpty()) {
+            errorMessage.append(":");
+            for (ErrorMessage m : messages) {
+                m.appendTo(errorMessage, matches);
+            }
+        }
+        return errorMessage.toString();
+    }
+
+    /**
+     * Serialized as a plain {@code AssertionError} since what is needed to render the message isn't serializable.
+     *
+     * @return the error to serialize instead
+     */
+    private Object writeReplace() {
+        AssertionError error = new AssertionError(getMessage());
+        error.setStackTrace(getStackTrace());
+        return error;
+    }
+}
@@ -30,57 +30,169 @@ public class UnorderedBehavior implements Serializable {
 
     private static final long serialVersionUID = 2185791334636597469L;
 
-    private final List<ExpectedInvocationAndResults> results = new ArrayList<>();
+    private final List<ExpectedInvocationAndResults> results;
+
+    /**
+     * The same expectations as {@code results}, indexed to find quickly the one answering an actual call. An ordered
+     * behavior only holds one expectation so it doesn't need it. Rebuilt lazily after deserialization.
+     */
+    private transient ExpectationIndex<ExpectedInvocationAndResults> index;
+
+    /**
+     * The expectation of an ordered behavior. An ordered behavior is one step of a strict sequence: it only holds
+     * consecutive calls equal to each other, so a single expectation. Set by {@link #compile()}.
+     */
+    private transient ExpectedInvocationAndResults step;
 
     private final boolean checkOrder;
 
+    /** Number of expectations not called enough yet. Counted by {@link #compile()} then updated on each call */
+    private transient int unsatisfied;
+
     public UnorderedBehavior(boolean checkOrder) {
         this.checkOrder = checkOrder;
+        this.results = checkOrder ? new ArrayList<>(1) : new ArrayList<>();
     }
 
     public void addExpected(ExpectedInvocation expected, Result result, Range count) {
+        ExpectedInvocationAndResults existing = checkOrder ? findEqual(expected) : index().findEqual(expected);
+        if (existing != null) {
+            existing.getResults().add(result, count);
+            return;
+        }
+        Results list = new Results();
+        list.add(result, count);
+        ExpectedInvocationAndResults entry = new ExpectedInvocationAndResults(expected, list);
+        results.add(entry);
+        if (!checkOrder) {
+            index.add(entry);
+        }
+    }
+
+    private ExpectedInvocationAndResults findEqual(ExpectedInvocation expected) {
         for (ExpectedInvocationAndResults entry : results) {
             if (entry.getExpectedInvocation().equals(expected)) {
-                entry.getResults().add(result, count);
-                return;
+                return entry;
             }
         }
-        Results list = new Results();
-        list.add(result, count);
-        results.add(new ExpectedInvocationAndResults(expected, list));
+        return null;
     }
 
-    public Result addActual(Invocation actual) {
+    private ExpectationIndex<ExpectedInvocationAndResults> index() {
+        if (index == null) {
+            index = new ExpectationIndex<>(ExpectedInvocationAndResults::getExpectedInvocation,
+                    entry -> entry.getResults().hasResults());
+            for (ExpectedInvocationAndResults entry : results) {
+                index.add(entry);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Freeze the index for replay and count the expectations left to satisfy. Nothing can be recorded afterwards.
+     */
+    public void compile() {
+        if (checkOrder) {
+            step = results.get(0);
+        } else {
+            index().compile();
+        }
+        countUnsatisfied();
+    }
+
+    /**
+     * Count the expectations not called enough yet. Done at compile time then kept up to date by
+     * {@link #addActual(Invocation)}, but not by {@link #addActualConcurrently(Invocation)}.
+     */
+    public void countUnsatisfied() {
+        unsatisfied = 0;
         for (ExpectedInvocationAndResults entry : results) {
+            if (!entry.getResults().hasValidCallCount()) {
+                unsatisfied++;
+            }
+        }
+    }
+
+    public Result addActual(Invocation actual) {
+        if (checkOrder) {
+            return addOrderedActual(actual);
+        }
+        ExpectedInvocationAndResults entry = index().find(actual);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            Result result = next(entry.getResults());
+            // actual and expected matched, validate the capture
+            actual.validateCaptures();
+            return result;
+        } finally {
+            actual.clearCaptures();
+        }
+    }
+
+    /**
+     * Same as {@link #addActual(Invocation)} for an unordered behavior, but safe to call concurrently. The results
+     * are consumed atomically and the expectations left to satisfy are not counted.
+     *
+     * @param actual the actual call
+     * @return the result of the call or null if no expectation can answer it
+     */
+    public Result addActualConcurrently(Invocation actual) {
+        while (true) {
+            ExpectedInvocationAndResults entry = index().find(actual);
+            if (entry == null) {
+                return null;
+            }
             try {
-                // if no results are available anymore, it's worthless to try to match
-                if (!entry.getResults().hasResults()) {
-                    continue;
+                Result result = entry.getResults().nextConcurrently();
+                if (result != null) {
+                    actual.validateCaptures();
+                    return result;
                 }
-                // if it doesn't match, keep searching
-                if (!entry.getExpectedInvocation().matches(actual)) {
-                    continue;
-                }
-                Result result = entry.getResults().next();
-                // actual and expected matched, validate the capture
-                actual.validateCaptures();
-                return result;
+                // Another thread consumed the last result since we found it, look for the next match
             } finally {
-                // reset the capture (already validated or expected didn't
-                // matched)
                 actual.clearCaptures();
             }
         }
-        return null;
     }
 
-    public boolean verify() {
-        for (ExpectedInvocationAndResults entry : results) {
-            if (!entry.getResults().hasValidCallCount()) {
-                return false;
+    private Result next(Results results) {
+        boolean satisfied = results.hasValidCallCount();
+        Result result = results.next();
+        if (!satisfied && results.hasValidCallCount()) {
+            unsatisfied--;
+        }
+        return result;
+    }
+
+    private Result addOrderedActual(Invocation actual) {
+        try {
+            // if no results are available anymore, it's worthless to try to match
+            if (!step.getResults().hasResults() || !step.getExpectedInvocation().matches(actual)) {
+                return null;
             }
+            Result result = next(step.getResults());
+            // actual and expected matched, validate the capture
+            actual.validateCaptures();
+            return result;
+        } finally {
+            // reset the capture (already validated or expected didn't matched)
+            actual.clearCaptures();
         }
-        return true;
+    }
+
+    public boolean isCheckOrder() {
+        return checkOrder;
+    }
+
+    public boolean verify() {
+        return unsatisfied == 0;
+    }
+
+    public int getUnsatisfiedCount() {
+        return unsatisfied;
     }
 
     public List<ErrorMessage> getMessages(Invocation invocation) {
@@ -94,8 +206,8 @@ public class UnorderedBehavior implements Serializable {
                 continue;
             }
 
-            ErrorMessage message = new ErrorMessage(match, entry.toString(), entry.getResults()
-                    .getCallCount());
+            // The call count is the one now, but the expectation is only rendered if the message is read
+            ErrorMessage message = new ErrorMessage(match, entry, entry.getResults().getCallCount());
             messages.add(message);
         }
         return messages;
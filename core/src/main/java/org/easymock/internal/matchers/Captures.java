@@ -16,9 +16,11 @@
 package org.easymock.internal.matchers;
 
 import java.io.Serializable;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.easymock.Capture;
 import org.easymock.IArgumentMatcher;
+import org.easymock.internal.Invocation;
 import org.easymock.internal.LastControl;
 
 /**
@@ -33,8 +35,18 @@ public class Captures<T> implements IArgumentMatcher, Serializable {
 
     private static final long serialVersionUID = -5048595127450771363L;
 
+    /** Locks of the captures, by identity. Must be a power of 2 */
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[16];
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
     private final Capture<T> capture;
 
+    /** Value to capture when validating outside an invocation. Replayed calls keep theirs in the invocation */
     private T potentialValue;
 
     public Captures(Capture<T> captured) {
@@ -57,7 +69,30 @@ public class Captures<T> implements IArgumentMatcher, Serializable {
         return true;
     }
 
+    /**
+     * Capture the value matched by the current invocation or, if there is none, the value given to
+     * {@link #setPotentialValue(Object)}.
+     */
+    @SuppressWarnings("unchecked")
     public void validateCapture() {
-        capture.setValue(potentialValue);
+        Invocation invocation = LastControl.getCurrentInvocation();
+        validateCapture(invocation == null ? potentialValue : (T) invocation.getPotentialValue(this));
+    }
+
+    /**
+     * Capture the value matched. It is called once the invocation matched, which might happen concurrently with
+     * other invocations of the same mock.
+     *
+     * @param value the value matched
+     */
+    public void validateCapture(T value) {
+        // Not the capture monitor, since a transformation blocking in it would pin the carrier of a virtual thread
+        ReentrantLock lock = LOCKS[System.identityHashCode(capture) & (LOCKS.length - 1)];
+        lock.lock();
+        try {
+            capture.setValue(value);
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -75,6 +75,19 @@ class CapturesMatcherTest {
         assertEquals("capture([null, s])", buffer.toString());
     }
 
+    @Test
+    void validateOutsideAnInvocation() throws Exception {
+        Invocation invocation = LastControl.getCurrentInvocation();
+        LastControl.popCurrentInvocation();
+        try {
+            matcher.setPotentialValue("s");
+            matcher.validateCapture();
+            assertEquals("s", capture.getValue());
+        } finally {
+            LastControl.pushCurrentInvocation(invocation);
+        }
+    }
+
     private void clearBuffer() {
         buffer.delete(0, buffer.length());
     }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2001-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.easymock.tests;
+
+import java.lang.reflect.Method;
+
+import org.easymock.internal.MethodMetadata;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodMetadataTest {
+
+    public static class Base<T> {
+        public void set(T value) {
+        }
+    }
+
+    public static class Child extends Base<String> {
+        @Override
+        public void set(String value) {
+        }
+    }
+
+    @Test
+    void sameMetadataForTheSameMethod() throws Exception {
+        Method method = IMethods.class.getMethod("oneArg", int.class);
+        assertSame(MethodMetadata.of(method), MethodMetadata.of(method));
+        assertSame(MethodMetadata.of(method), MethodMetadata.of(IMethods.class.getMethod("oneArg", int.class)));
+    }
+
+    @Test
+    void parameterKinds() throws Exception {
+        MethodMetadata metadata = MethodMetadata.of(IVarArgs.class.getMethod("withVarargsString", int.class,
+                String[].class));
+        assertTrue(metadata.isVarArgs());
+        assertTrue(metadata.isPrimitiveParameter(0));
+        assertFalse(metadata.isPrimitiveParameter(1));
+        assertFalse(metadata.isPrimitiveParameter(5));
+    }
+
+    @Test
+    void defaultReturnValue() throws Exception {
+        assertEquals(0, MethodMetadata.of(IMethods.class.getMethod("intReturningMethod", int.class))
+                .getDefaultReturnValue());
+        assertEquals(false, MethodMetadata.of(IMethods.class.getMethod("booleanReturningMethod", int.class))
+                .getDefaultReturnValue());
+        assertNull(MethodMetadata.of(IMethods.class.getMethod("objectReturningMethod", int.class))
+                .getDefaultReturnValue());
+    }
+
+    @Test
+    void resolveBridge() throws Exception {
+        Method bridge = Child.class.getMethod("set", Object.class);
+        assertTrue(bridge.isBridge());
+        Method bridged = Child.class.getMethod("set", String.class);
+        assertEquals(bridged, MethodMetadata.resolveBridge(bridge));
+        assertSame(MethodMetadata.resolveBridge(bridge), MethodMetadata.resolveBridge(bridge));
+        assertSame(bridged, MethodMetadata.resolveBridge(bridged));
+    }
+}
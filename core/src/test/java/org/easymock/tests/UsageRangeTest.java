@@ -94,4 +94,25 @@ class UsageRangeTest {
         verifyRecording(mock);
 
     }
+
+    @Test
+    void longSequenceOfResults() {
+        expect(mock.next()).andReturn("0").times(2).andReturn("1").times(2).andReturn("2").times(2);
+        for (int i = 3; i < 1_000; i++) {
+            expectLastCall().andReturn(String.valueOf(i)).times(2);
+        }
+        expectLastCall().andReturn("last").times(1, 3);
+        replay(mock);
+        for (int i = 0; i < 1_000; i++) {
+            Assertions.assertEquals(String.valueOf(i), mock.next());
+            Assertions.assertEquals(String.valueOf(i), mock.next());
+        }
+        AssertionError expected = Assertions.assertThrows(AssertionError.class, () -> verify(mock));
+        Assertions.assertTrue(expected.getMessage().endsWith("Iterator.next(): expected: between 2001 and 2003, actual: 2000"));
+        Assertions.assertEquals("last", mock.next());
+        Assertions.assertEquals("last", mock.next());
+        Assertions.assertEquals("last", mock.next());
+        verify(mock);
+        Assertions.assertThrows(AssertionError.class, () -> mock.next());
+    }
 }
@@ -167,4 +167,43 @@ class UsageStrictMockTest {
             .getMessage());
 
     }
+
+    @Test
+    void longSequenceWithOptionalSteps() {
+        reset(mock);
+        for (int i = 0; i < 1_000; i++) {
+            expect(mock.oneArg(i)).andReturn(String.valueOf(i));
+            expect(mock.oneArg("optional")).andReturn("optional").anyTimes();
+        }
+        replay(mock);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(String.valueOf(i), mock.oneArg(i));
+            if (i % 2 == 0) {
+                assertEquals("optional", mock.oneArg("optional"));
+            }
+        }
+        verify(mock);
+        assertThrows(AssertionError.class, () -> mock.oneArg(0));
+    }
+
+    @Test
+    void outOfSequenceCallDoesNotMoveTheCursor() {
+        reset(mock);
+        expect(mock.oneArg(1)).andReturn("1");
+        expect(mock.oneArg(2)).andReturn("2").anyTimes();
+        expect(mock.oneArg(3)).andReturn("3");
+        replay(mock);
+
+        assertEquals("1", mock.oneArg(1));
+        AssertionError expected = assertThrows(AssertionError.class, () -> mock.oneArg(4));
+        assertEquals("\n  Unexpected method call EasyMock for interface org.easymock.tests.IMethods -> IMethods.oneArg(4 (int)):"
+            + "\n    EasyMock for interface org.easymock.tests.IMethods -> IMethods.oneArg(1 (int)): expected: 1, actual: 1"
+            + "\n    EasyMock for interface org.easymock.tests.IMethods -> IMethods.oneArg(2 (int)): expected: at least 0, actual: 0"
+            + "\n    EasyMock for interface org.easymock.tests.IMethods -> IMethods.oneArg(3 (int)): expected: 1, actual: 0", expected
+            .getMessage());
+        assertEquals("2", mock.oneArg(2));
+        assertEquals("3", mock.oneArg(3));
+        verifyRecording(mock);
+    }
 }
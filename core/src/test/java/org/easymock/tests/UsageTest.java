@@ -147,6 +147,36 @@ class UsageTest {
         }
     }
 
+    @Test
+    void arrayModifiedAfterRecording() {
+        String[] strings = new String[] { "Test" };
+        expect(mock.oneArray(strings)).andReturn("first");
+        expect(mock.oneArray(new String[] { "Changed" })).andReturn("second");
+        strings[0] = "Changed";
+        replay(mock);
+
+        // Arrays are compared when called, so the first expectation now matches
+        Assertions.assertEquals("first", mock.oneArray(new String[] { "Changed" }));
+        Assertions.assertEquals("second", mock.oneArray(new String[] { "Changed" }));
+        verify(mock);
+    }
+
+    @Test
+    void arrayModifiedBetweenRecordings() {
+        int[] array = { 1 };
+        expect(mock.oneArray(array)).andReturn("1");
+        expect(mock.oneArg(true)).andReturn("true");
+        array[0] = 2;
+        expect(mock.oneArray(new int[] { 2 })).andReturn("2");
+        replay(mock);
+
+        // Both recordings are now equal, so they were merged in the same expectation
+        Assertions.assertEquals("1", mock.oneArray(new int[] { 2 }));
+        Assertions.assertEquals("2", mock.oneArray(new int[] { 2 }));
+        Assertions.assertEquals("true", mock.oneArg(true));
+        verify(mock);
+    }
+
     @Test
     void wrongArguments() {
         mock.simpleMethodWithArgument("3");
@@ -163,6 +193,21 @@ class UsageTest {
 
     }
 
+    @Test
+    void unexpectedCallShowsTheCallCountAtTheTimeOfTheCall() {
+        mock.simpleMethodWithArgument("3");
+        expectLastCall().times(2);
+        replay(mock);
+
+        mock.simpleMethodWithArgument("3");
+        AssertionError error = Assertions.assertThrows(AssertionError.class, () -> mock.simpleMethodWithArgument("5"));
+        mock.simpleMethodWithArgument("3");
+
+        Assertions.assertEquals("\n  Unexpected method call EasyMock for interface org.easymock.tests.IMethods -> IMethods.simpleMethodWithArgument(\"5\"):"
+                + "\n    EasyMock for interface org.easymock.tests.IMethods -> IMethods.simpleMethodWithArgument(\"3\"): expected: 2, actual: 1", error
+                .getMessage());
+    }
+
     @Test
     void summarizeSameObjectArguments() {
         mock.simpleMethodWithArgument("3");
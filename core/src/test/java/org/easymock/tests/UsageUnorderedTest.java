@@ -15,6 +15,7 @@
  */
 package org.easymock.tests;
 
+import org.easymock.IMocksControl;
 import org.junit.jupiter.api.Test;
 
 import static org.easymock.EasyMock.*;
@@ -54,4 +55,71 @@ class UsageUnorderedTest {
                     + "\n    EasyMock for interface org.easymock.tests.UsageUnorderedTest$Interface -> Interface.method(42 (int)): expected: 1, actual: 1 (+1)",
             expected.getMessage());
     }
+
+    @Test
+    void firstRecordedMatchWinsForEachMockAndMethod() {
+        IMocksControl control = createControl();
+        IMethods first = control.createMock(IMethods.class);
+        IMethods second = control.createMock(IMethods.class);
+
+        expect(first.oneArg(geq(0))).andReturn("first positive");
+        expect(second.oneArg(1)).andReturn("second one");
+        expect(first.oneArg(1)).andReturn("first one");
+        expect(first.oneArg(1L)).andReturn("first long");
+        expect(second.oneArg(anyInt())).andReturn("second any");
+
+        control.replay();
+
+        assertEquals("first long", first.oneArg(1L));
+        assertEquals("second one", second.oneArg(1));
+        assertEquals("first positive", first.oneArg(1));
+        assertEquals("first one", first.oneArg(1));
+        assertEquals("second any", second.oneArg(1));
+
+        control.verify();
+    }
+
+    @Test
+    void exactArgumentsAndMatchersKeepRecordingOrder() {
+        IMethods mock = createMock(IMethods.class);
+
+        for (int i = 0; i < 100; i++) {
+            expect(mock.oneArg(i)).andReturn("exact " + i);
+        }
+        expect(mock.oneArg(lt(50))).andReturn("less").times(2);
+        expect(mock.oneArg(-1)).andReturn("minus one");
+        expect(mock.oneArray(new int[] { 1, 2 })).andReturn("array");
+        expect(mock.oneArray(new Object[] { "a", null, 3 })).andReturn("objects");
+
+        replay(mock);
+
+        assertEquals("exact 10", mock.oneArg(10));
+        assertEquals("less", mock.oneArg(10));
+        assertEquals("less", mock.oneArg(-1));
+        assertEquals("minus one", mock.oneArg(-1));
+        assertEquals("exact 99", mock.oneArg(99));
+        assertEquals("array", mock.oneArray(new int[] { 1, 2 }));
+        assertEquals("objects", mock.oneArray(new Object[] { "a", null, 3 }));
+        assertThrows(AssertionError.class, () -> mock.oneArg(10));
+    }
+
+    @Test
+    void messageDescribesTheStateAtTheTimeOfTheCall() {
+        Interface mock = createMock(Interface.class);
+
+        mock.method(1);
+        mock.method(2);
+
+        replay(mock);
+
+        mock.method(1);
+        AssertionError expected = assertThrows(AssertionError.class, () -> mock.method(1));
+        mock.method(2);
+
+        assertEquals(
+            "\n  Unexpected method call EasyMock for interface org.easymock.tests.UsageUnorderedTest$Interface -> Interface.method(1 (int)):"
+                    + "\n    EasyMock for interface org.easymock.tests.UsageUnorderedTest$Interface -> Interface.method(1 (int)): expected: 1, actual: 2"
+                    + "\n    EasyMock for interface org.easymock.tests.UsageUnorderedTest$Interface -> Interface.method(2 (int)): expected: 1, actual: 0",
+            expected.getMessage());
+    }
 }
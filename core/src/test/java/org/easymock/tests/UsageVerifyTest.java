@@ -23,6 +23,7 @@ import java.io.IOException;
 
 import static org.easymock.EasyMock.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -254,4 +255,32 @@ class UsageVerifyTest {
                     "\n    EasyMock for interface org.easymock.tests.IMethods -> IMethods.simpleMethod()", e.getMessage());
         }
     }
+
+    @Test
+    void verifyFollowsSatisfaction() {
+        IMethods other = createStrictMock(IMethods.class);
+        expect(mock.oneArg(1)).andReturn("1").times(2, 3);
+        expect(mock.oneArg(2)).andReturn("2").atLeastOnce();
+        expect(mock.oneArg(3)).andReturn("3").anyTimes();
+        expect(other.oneArg(1)).andReturn("1");
+        expect(other.oneArg(2)).andReturn("2").times(2);
+
+        replay(mock, other);
+
+        mock.oneArg(1);
+        mock.oneArg(2);
+        other.oneArg(1);
+        other.oneArg(2);
+        assertThrows(AssertionError.class, () -> verify(mock));
+        assertThrows(AssertionError.class, () -> verify(other));
+
+        mock.oneArg(1);
+        other.oneArg(2);
+        verify(mock, other);
+
+        mock.oneArg(1);
+        mock.oneArg(2);
+        mock.oneArg(3);
+        verify(mock, other);
+    }
 }
@@ -112,4 +112,30 @@ class CallbackAndArgumentsTest {
 
         assertEquals("12", buffer.toString());
     }
+
+    @Test
+    void callbackGetsArgumentsWhenCallsAreNestedTwice() {
+
+        IMethods mock2 = createMock(IMethods.class);
+        IMethods mock3 = createMock(IMethods.class);
+        expect(mock3.oneArg(3)).andAnswer(() -> "" + getCurrentArgument(0));
+        expect(mock2.oneArg(2)).andAnswer(() -> mock3.oneArg(3) + getCurrentArgument(0));
+        expect(mock.oneArg(1)).andAnswer(() -> mock2.oneArg(2) + getCurrentArgument(0));
+
+        replay(mock, mock2, mock3);
+
+        assertEquals("321", mock.oneArg(1));
+
+        verify(mock, mock2, mock3);
+    }
+
+    @Test
+    void currentArgumentsFailsAfterTheCall() {
+        expect(mock.oneArg(1)).andReturn("1");
+        replay(mock);
+
+        mock.oneArg(1);
+
+        assertThrows(IllegalStateException.class, EasyMock::getCurrentArguments);
+    }
 }
@@ -103,6 +103,20 @@ class SerializationTest implements Serializable {
 
     }
 
+    @Test
+    void testUnexpectedCallError() throws Exception {
+        List<String> mock = createMock(List.class);
+        expect(mock.get(1)).andReturn("a");
+        replay(mock);
+
+        AssertionError error = Assertions.assertThrows(AssertionError.class, () -> mock.get(2));
+        AssertionError copy = serialize(error);
+
+        Assertions.assertEquals(AssertionError.class, copy.getClass());
+        Assertions.assertEquals(error.getMessage(), copy.getMessage());
+        Assertions.assertArrayEquals(error.getStackTrace(), copy.getStackTrace());
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T serialize(T o) throws IOException, ClassNotFoundException {
         ByteArrayOutputStream bOut = new ByteArrayOutputStream();
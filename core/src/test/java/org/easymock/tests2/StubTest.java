@@ -83,4 +83,26 @@ class StubTest {
         verify(mock);
     }
 
+    @Test
+    void firstRecordedStubWins() {
+        IMethods other = createNiceMock(IMethods.class);
+        for (int i = 0; i < 100; i++) {
+            expect(mock.oneArg(i)).andStubReturn("exact " + i);
+        }
+        expect(mock.oneArg(geq(50))).andStubReturn("greater");
+        expect(mock.oneArg(50)).andStubReturn("shadowed");
+        expect(mock.oneArg(anyInt())).andStubReturn("any");
+        expect(other.oneArg(1)).andStubReturn("other");
+
+        replay(mock, other);
+
+        Assertions.assertEquals("exact 1", mock.oneArg(1));
+        Assertions.assertEquals("exact 50", mock.oneArg(50));
+        Assertions.assertEquals("greater", mock.oneArg(150));
+        Assertions.assertEquals("any", mock.oneArg(-1));
+        Assertions.assertEquals("other", other.oneArg(1));
+        Assertions.assertNull(other.oneArg(2));
+
+        verify(mock, other);
+    }
 }
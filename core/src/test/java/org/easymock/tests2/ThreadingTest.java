@@ -15,15 +15,24 @@
  */
 package org.easymock.tests2;
 
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.ConcurrencyMode;
+import org.easymock.IAnswer;
+import org.easymock.IMocksControl;
 import org.easymock.internal.AssertionErrorWrapper;
 import org.easymock.internal.MocksBehavior;
 import org.easymock.tests.IMethods;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.easymock.EasyMock.*;
 
@@ -61,6 +70,227 @@ class ThreadingTest {
         verify(mock);
     }
 
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "SYNCHRONIZED", "STRIPED", "LOCK_FREE" })
+    void testNeverConsumesMoreThanExpected(ConcurrencyMode mode) throws Throwable {
+        IMethods mock = createMock(IMethods.class);
+        makeThreadSafe(mock, mode);
+        expect(mock.oneArg("test")).andReturn("first").times(THREAD_COUNT * 50).andReturn("second").times(
+                THREAD_COUNT * 50);
+        replay(mock);
+
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        runInThreads(THREAD_COUNT, () -> {
+            for (int i = 0; i < 200; i++) {
+                try {
+                    String result = mock.oneArg("test");
+                    ("first".equals(result) ? first : second).incrementAndGet();
+                } catch (AssertionError e) {
+                    failures.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        Assertions.assertEquals(THREAD_COUNT * 50, first.get());
+        Assertions.assertEquals(THREAD_COUNT * 50, second.get());
+        Assertions.assertEquals(THREAD_COUNT * 100, failures.get());
+        verifyRecording(mock);
+        Assertions.assertThrows(AssertionError.class, () -> verifyUnexpectedCalls(mock));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "SYNCHRONIZED", "STRIPED", "LOCK_FREE" })
+    void testVerifiesSatisfaction(ConcurrencyMode mode) throws Throwable {
+        IMethods mock = createMock(IMethods.class);
+        makeThreadSafe(mock, mode);
+        expect(mock.oneArg("test")).andReturn("first").times(3).andReturn("next").times(1000, Integer.MAX_VALUE);
+        expect(mock.oneArg(1)).andReturn("result").atLeastOnce();
+        replay(mock);
+
+        runInThreads(THREAD_COUNT, () -> {
+            for (int i = 0; i < 100; i++) {
+                mock.oneArg("test");
+            }
+            return null;
+        });
+
+        AssertionError error = Assertions.assertThrows(AssertionError.class, () -> verify(mock));
+        Assertions.assertTrue(error.getMessage().contains("oneArg(\"test\"): expected: at least 1003, actual: 1000"),
+                error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("oneArg(1 (int)): expected: at least 1, actual: 0"),
+                error.getMessage());
+
+        runInThreads(THREAD_COUNT, () -> mock.oneArg(1));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("next", mock.oneArg("test"));
+        }
+        verify(mock);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "SYNCHRONIZED", "STRIPED", "LOCK_FREE" })
+    void testKeepsTheOrder(ConcurrencyMode mode) {
+        IMocksControl control = createStrictControl();
+        control.makeThreadSafe(mode);
+        IMethods mock = control.createMock(IMethods.class);
+        expect(mock.oneArg(1)).andReturn("1");
+        expect(mock.oneArg(2)).andReturn("2");
+        control.replay();
+
+        Assertions.assertThrows(AssertionError.class, () -> mock.oneArg(2));
+        Assertions.assertEquals("1", mock.oneArg(1));
+        Assertions.assertEquals("2", mock.oneArg(2));
+        control.verifyRecording();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "SYNCHRONIZED", "STRIPED", "LOCK_FREE" })
+    void testCaptures(ConcurrencyMode mode) throws Throwable {
+        IMethods mock = createMock(IMethods.class);
+        makeThreadSafe(mock, mode);
+        Capture<Integer> capture = Capture.newInstance(CaptureType.ALL);
+        expect(mock.oneArg(captureInt(capture))).andReturn("result").anyTimes();
+        replay(mock);
+
+        AtomicInteger values = new AtomicInteger();
+        runInThreads(THREAD_COUNT, () -> {
+            for (int i = 0; i < 100; i++) {
+                mock.oneArg(values.incrementAndGet());
+            }
+            return null;
+        });
+
+        List<Integer> captured = new ArrayList<>(capture.getValues());
+        Collections.sort(captured);
+        Assertions.assertEquals(THREAD_COUNT * 100, captured.size());
+        for (int i = 0; i < captured.size(); i++) {
+            Assertions.assertEquals(i + 1, captured.get(i).intValue());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "SYNCHRONIZED", "STRIPED", "LOCK_FREE" })
+    void testAnswersOverlapUnlessSynchronized(ConcurrencyMode mode) throws Throwable {
+        boolean concurrent = mode != ConcurrencyMode.SYNCHRONIZED;
+        IMethods mock = createMock(IMethods.class);
+        makeThreadSafe(mock, mode);
+        expect(mock.oneArg("test")).andAnswer(waitForEachOther(2, concurrent)).times(2);
+        replay(mock);
+
+        List<String> overlapped = runInThreads(2, () -> mock.oneArg("test"));
+
+        Assertions.assertEquals(concurrent, !overlapped.contains("false"), overlapped.toString());
+        verify(mock);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "STRIPED", "LOCK_FREE" })
+    void testAnswerLimitedToOneDoesNotOverlap(ConcurrencyMode mode) throws Throwable {
+        IMethods mock = createMock(IMethods.class);
+        makeThreadSafe(mock, mode);
+        expect(mock.oneArg("test")).andAnswer(waitForEachOther(2, false), 1).times(2);
+        replay(mock);
+
+        List<String> overlapped = runInThreads(2, () -> mock.oneArg("test"));
+
+        Assertions.assertTrue(overlapped.contains("false"), overlapped.toString());
+        verify(mock);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ConcurrencyMode.class, names = { "STRIPED", "LOCK_FREE" })
+    void testLimitedStubAnswer(ConcurrencyMode mode) throws Throwable {
+        IMethods mock = createMock(IMethods.class);
+        makeThreadSafe(mock, mode);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        IAnswer<String> overlapping = waitForEachOther(2, true);
+        expect(mock.oneArg("test")).andStubAnswer(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                return overlapping.answer();
+            } finally {
+                running.decrementAndGet();
+            }
+        }, 2);
+        replay(mock);
+
+        List<String> overlapped = runInThreads(THREAD_COUNT, () -> mock.oneArg("test"));
+
+        // The first two answers had to overlap to get through, the limit kept the others out
+        Assertions.assertFalse(overlapped.contains("false"), overlapped.toString());
+        Assertions.assertEquals(2, maxRunning.get());
+        verify(mock);
+    }
+
+    @Test
+    void testLimitedAnswerNeedsAPositiveLimit() {
+        IMethods mock = createMock(IMethods.class);
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> expect(mock.oneArg("test")).andAnswer(() -> "result", 0));
+        Assertions.assertEquals("maxConcurrent must be at least 1 but was 0", e.getMessage());
+    }
+
+    @Test
+    void testLimitedAnswerChecksTheLimitFirst() {
+        IMethods mock = createMock(IMethods.class);
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> expect(mock.oneArg("test")).andStubAnswer(null, -1));
+        Assertions.assertEquals("maxConcurrent must be at least 1 but was -1", e.getMessage());
+    }
+
+    @Test
+    void testLimitConcurrency() throws Throwable {
+        IAnswer<String> answer = limitConcurrency(() -> "result", 1);
+        Assertions.assertEquals("result", answer.answer());
+        Assertions.assertThrows(NullPointerException.class, () -> limitConcurrency(null, 1));
+    }
+
+    @Test
+    void testLimitedAnswerIsNotNull() {
+        IMethods mock = createMock(IMethods.class);
+        NullPointerException e = Assertions.assertThrows(NullPointerException.class,
+                () -> expect(mock.oneArg("test")).andAnswer(null, 1));
+        Assertions.assertEquals("answer object must not be null", e.getMessage());
+    }
+
+    @Test
+    void testConcurrencyModeIsNotNull() {
+        IMocksControl control = createControl();
+        NullPointerException e = Assertions.assertThrows(NullPointerException.class,
+                () -> control.makeThreadSafe((ConcurrencyMode) null));
+        Assertions.assertEquals("concurrency mode must not be null", e.getMessage());
+    }
+
+    /**
+     * Answer waiting for {@code count} answers to run at the same time. It returns if they did. When they aren't
+     * expected to, it doesn't wait for long since it would always time out.
+     */
+    private static IAnswer<String> waitForEachOther(int count, boolean expectOverlap) {
+        CountDownLatch answering = new CountDownLatch(count);
+        long timeout = expectOverlap ? 10_000 : 200;
+        return () -> {
+            answering.countDown();
+            return String.valueOf(answering.await(timeout, TimeUnit.MILLISECONDS));
+        };
+    }
+
+    private static <T> List<T> runInThreads(int threads, Callable<T> task) throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            List<T> results = new ArrayList<>(threads);
+            for (Future<T> future : service.invokeAll(Collections.nCopies(threads, task))) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            service.shutdown();
+        }
+    }
+
     @Test
     void testThreadNotSafe() throws Throwable {
 
@@ -140,6 +370,33 @@ class ThreadingTest {
         }
     }
 
+    @Test
+    void testChangeDefaultConcurrencyMode() {
+        String previousMode = setEasyMockProperty(CONCURRENCY_MODE_BY_DEFAULT, ConcurrencyMode.STRIPED.name());
+        String previousThreadSafe = setEasyMockProperty(NOT_THREAD_SAFE_BY_DEFAULT, Boolean.TRUE.toString());
+        try {
+            MocksBehavior behavior = new MocksBehavior(false);
+            Assertions.assertEquals(ConcurrencyMode.STRIPED, behavior.getConcurrencyMode());
+            Assertions.assertTrue(behavior.isThreadSafe());
+        } finally {
+            setEasyMockProperty(CONCURRENCY_MODE_BY_DEFAULT, previousMode);
+            setEasyMockProperty(NOT_THREAD_SAFE_BY_DEFAULT, previousThreadSafe);
+        }
+    }
+
+    @Test
+    void testInvalidDefaultConcurrencyMode() {
+        String previousMode = setEasyMockProperty(CONCURRENCY_MODE_BY_DEFAULT, "STRIPPED");
+        try {
+            IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> new MocksBehavior(false));
+            Assertions.assertEquals("Invalid value 'STRIPPED' for easymock.concurrencyModeByDefault. "
+                    + "Allowed values are [NOT_THREAD_SAFE, SYNCHRONIZED, STRIPED, LOCK_FREE]", e.getMessage());
+        } finally {
+            setEasyMockProperty(CONCURRENCY_MODE_BY_DEFAULT, previousMode);
+        }
+    }
+
     @Test
     void testRecordingInMultipleThreads() throws Exception {
 